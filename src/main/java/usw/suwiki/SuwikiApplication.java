@@ -14,4 +14,3 @@ public class SuwikiApplication {
 		SpringApplication.run(SuwikiApplication.class, args);
 	}
 }
-
@@ -0,0 +1,41 @@
+package usw.suwiki.config;
+
+import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.launch.support.SimpleJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+// Job 은 서버 시작 시 자동 실행하지 않고 각 스케줄러에서 JobLauncher 로 실행한다 (application.yml spring.batch.job.enabled)
+@Configuration
+@EnableBatchProcessing
+public class BatchConfig implements DisposableBean {
+
+    public static final String ASYNC_JOB_LAUNCHER = "asyncJobLauncher";
+
+    private final ThreadPoolTaskExecutor jobExecutor = new ThreadPoolTaskExecutor();
+
+    // 스케줄러 스레드(@Scheduled)와 ApplicationReadyEvent 가 Job 이 끝날 때까지 묶이지 않도록 Job 은 전용 스레드에서 실행한다
+    @Bean(name = ASYNC_JOB_LAUNCHER)
+    public JobLauncher asyncJobLauncher(JobRepository jobRepository) throws Exception {
+        jobExecutor.setCorePoolSize(2);
+        jobExecutor.setMaxPoolSize(2);
+        jobExecutor.setQueueCapacity(10);
+        jobExecutor.setThreadNamePrefix("batch-job-");
+        jobExecutor.initialize();
+
+        SimpleJobLauncher jobLauncher = new SimpleJobLauncher();
+        jobLauncher.setJobRepository(jobRepository);
+        jobLauncher.setTaskExecutor(jobExecutor);
+        jobLauncher.afterPropertiesSet();
+        return jobLauncher;
+    }
+
+    @Override
+    public void destroy() {
+        jobExecutor.shutdown();
+    }
+}
@@ -1,10 +1,10 @@
 package usw.suwiki.domain.evaluation;
 
-import lombok.Synchronized;
 import usw.suwiki.domain.user.User;
 import usw.suwiki.exception.AccountException;
 import usw.suwiki.exception.ErrorType;
 import usw.suwiki.domain.user.UserRepository;
+import usw.suwiki.domain.lecture.LectureLockStripes;
 import usw.suwiki.domain.lecture.LectureService;
 import usw.suwiki.global.PageOption;
 import usw.suwiki.domain.lecture.Lecture;
@@ -23,8 +23,10 @@ public class EvaluatePostsService {
     private final EvaluatePostsRepository evaluatePostsRepository;
     private final LectureService lectureService;
     private final UserRepository userRepository;
+    private final LectureLockStripes lectureLockStripes;
 
     public void save(EvaluatePostsSaveDto dto, Long userIdx, Long lectureId){
+        lectureLockStripes.lockForTransaction(lectureId);
         EvaluatePosts posts = new EvaluatePosts(dto);
 
         Lecture lecture = lectureService.findById(lectureId);
@@ -41,7 +43,6 @@ public class EvaluatePostsService {
             posts.getUser().setWrittenEvaluation(num + 1);
             EvaluatePostsToLecture newDto = new EvaluatePostsToLecture(posts);
             lectureService.addLectureValue(newDto);
-            lectureService.calcLectureAvg(newDto);
             evaluatePostsRepository.save(posts);
         }
     }
@@ -52,11 +53,10 @@ public class EvaluatePostsService {
 
     public void update(Long evaluateIdx , EvaluatePostsUpdateDto dto){
         EvaluatePosts posts = evaluatePostsRepository.findById(evaluateIdx);
-        lectureService.cancelLectureValue(new EvaluatePostsToLecture(posts));
+        lectureLockStripes.lockForTransaction(posts.getLecture().getId());
+        EvaluatePostsToLecture beforeDto = new EvaluatePostsToLecture(posts);
         posts.update(dto);
-        EvaluatePostsToLecture newDto = new EvaluatePostsToLecture(posts);
-        lectureService.addLectureValue(newDto);
-        lectureService.calcLectureAvg(newDto);
+        lectureService.changeLectureValue(beforeDto, new EvaluatePostsToLecture(posts));
     }
 
     public List<EvaluateResponseByLectureIdDto> findEvaluatePostsByLectureId(PageOption option , Long lectureId){
@@ -95,29 +95,43 @@ public class EvaluatePostsService {
         return false;
     }
 
+    // 여러 유저의 강의평가를 한 트랜잭션에서 지울 때는 다른 쓰기보다 먼저 불러 관련 강의를 한 번에 잠근다
+    public void lockLecturesOfUsers(List<Long> userIdxs){
+        List<Long> lectureIds = new ArrayList<>();
+        for (Long userIdx : userIdxs) {
+            for (EvaluatePosts evaluatePosts : evaluatePostsRepository.findAllByUserId(userIdx)) {
+                lectureIds.add(evaluatePosts.getLecture().getId());
+            }
+        }
+        lectureLockStripes.lockForTransaction(lectureIds);
+    }
+
     public void deleteByUser(Long userIdx){
         List<EvaluatePosts> list = evaluatePostsRepository.findAllByUserId(userIdx);
 
         if (list.isEmpty()) {
             return;
         } else {
+            List<Long> lectureIds = new ArrayList<>();
+            for (EvaluatePosts evaluatePosts : list) {
+                lectureIds.add(evaluatePosts.getLecture().getId());
+            }
+            lectureLockStripes.lockForTransaction(lectureIds);
             for (EvaluatePosts evaluatePosts : list) {
                 EvaluatePostsToLecture dto = new EvaluatePostsToLecture(evaluatePosts);
                 lectureService.cancelLectureValue(dto);
-                lectureService.calcLectureAvg(dto);
                 evaluatePostsRepository.delete(evaluatePosts);
             }
         }
     }
 
-    @Synchronized
     public void deleteById(Long evaluateIdx, Long userIdx){
         EvaluatePosts posts = evaluatePostsRepository.findById(evaluateIdx);
+        lectureLockStripes.lockForTransaction(posts.getLecture().getId());
         Optional<User> user = userRepository.findById(userIdx);
         EvaluatePostsToLecture dto = new EvaluatePostsToLecture(posts);
 
         lectureService.cancelLectureValue(dto);
-        lectureService.calcLectureAvg(dto);
         Integer postsCount = user.get().getWrittenEvaluation();
         user.get().setWrittenEvaluation(postsCount - 1);
         evaluatePostsRepository.delete(posts);
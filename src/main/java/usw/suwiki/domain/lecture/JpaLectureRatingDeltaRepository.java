@@ -0,0 +1,50 @@
+package usw.suwiki.domain.lecture;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public class JpaLectureRatingDeltaRepository implements LectureRatingDeltaRepository {
+
+    private final EntityManager em;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public JpaLectureRatingDeltaRepository(EntityManager em, NamedParameterJdbcTemplate jdbcTemplate) {
+        this.em = em;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void save(LectureRatingDelta delta) {
+        em.persist(delta);
+    }
+
+    @Override
+    public List<LectureRatingDelta> findAllCreatedBefore(LocalDateTime dateTime) {
+        return em.createQuery("SELECT d FROM LectureRatingDelta d WHERE d.createDate < :dateTime ORDER BY d.id", LectureRatingDelta.class)
+                .setParameter("dateTime", dateTime)
+                .getResultList();
+    }
+
+    // 아직 남아 있고 다른 트랜잭션이 잡고 있지 않은 행만 잠가 가져온 뒤 지운다
+    // 드라이버가 행별 결과를 SUCCESS_NO_INFO 로 돌려줘도 어떤 행을 가져왔는지는 잠근 결과로 정해진다
+    @Override
+    public List<Long> deleteAllByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Long> claimedIds = jdbcTemplate.queryForList(
+                "SELECT id FROM lecture_rating_delta WHERE id IN (:ids) FOR UPDATE SKIP LOCKED",
+                new MapSqlParameterSource("ids", ids), Long.class);
+        if (!claimedIds.isEmpty()) {
+            jdbcTemplate.update("DELETE FROM lecture_rating_delta WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", claimedIds));
+        }
+        return claimedIds;
+    }
+}
@@ -1,20 +1,55 @@
 package usw.suwiki.domain.lecture;
 
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
-import usw.suwiki.exception.AccountException;
-import usw.suwiki.exception.ErrorType;
 
 import javax.persistence.EntityManager;
-import java.util.Arrays;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 @Repository
 public class JpaLectureRepository implements LectureRepository {
+    // 평균을 합계보다 먼저 대입해 SET 을 왼쪽부터 평가하는 DB(MySQL) 에서도 모두 변경 전 값을 기준으로 계산된다
+    private static final String APPLY_RATING_SQL = "UPDATE lecture SET"
+            + " lecture_satisfaction_avg = " + average("lecture_satisfaction_value", ":satisfaction") + ","
+            + " lecture_honey_avg = " + average("lecture_honey_value", ":honey") + ","
+            + " lecture_learning_avg = " + average("lecture_learning_value", ":learning") + ","
+            + " lecture_team_avg = " + average("lecture_team_value", ":team") + ","
+            + " lecture_difficulty_avg = " + average("lecture_difficulty_value", ":difficulty") + ","
+            + " lecture_homework_avg = " + average("lecture_homework_value", ":homework") + ","
+            + " lecture_total_avg = CASE WHEN posts_count + :count < 1 THEN 0"
+            + " ELSE (lecture_satisfaction_value + lecture_honey_value + lecture_learning_value"
+            + " + :satisfaction + :honey + :learning) / (3 * (posts_count + :count)) END,"
+            + " lecture_satisfaction_value = lecture_satisfaction_value + :satisfaction,"
+            + " lecture_honey_value = lecture_honey_value + :honey,"
+            + " lecture_learning_value = lecture_learning_value + :learning,"
+            + " lecture_team_value = lecture_team_value + :team,"
+            + " lecture_difficulty_value = lecture_difficulty_value + :difficulty,"
+            + " lecture_homework_value = lecture_homework_value + :homework,"
+            + " posts_count = posts_count + :count,"
+            + " modified_date = :modifiedDate"
+            + " WHERE id = :id";
+
+    private static final String ADD_BUCKET_SQL = "UPDATE lecture_rating_bucket SET posts_count = posts_count + :count"
+            + " WHERE lecture_id = :lectureId AND bucket = :bucket";
+
+    private static final String INSERT_BUCKET_SQL = "INSERT INTO lecture_rating_bucket (lecture_id, bucket, posts_count)"
+            + " VALUES (:lectureId, :bucket, :count)";
+
     private final EntityManager em;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final LectureQueryEngine lectureQueryEngine;
 
-    public JpaLectureRepository(EntityManager em) {
+    public JpaLectureRepository(EntityManager em, NamedParameterJdbcTemplate jdbcTemplate, LectureQueryEngine lectureQueryEngine) {
         this.em = em;
+        this.jdbcTemplate = jdbcTemplate;
+        this.lectureQueryEngine = lectureQueryEngine;
     }
 
     @Override
@@ -29,175 +64,116 @@ public class JpaLectureRepository implements LectureRepository {
     }
 
     @Override
-    public Lecture verifyJsonLecture(String lectureName, String professorName, String majorType) {
-        List<Lecture> resultList = em.createQuery("SELECT l FROM Lecture l WHERE(l.lectureName =:lectureName AND l.professor =:professor AND l.majorType = :majorType)")
-                .setParameter("lectureName", lectureName)
-                .setParameter("professor", professorName)
-                .setParameter("majorType", majorType)
-                .getResultList();     //refactoring 해야한다
-        if (resultList.isEmpty()) {
-            return null;
-        } else return resultList.get(0);
+    public List<Lecture> findAll() {
+        return em.createQuery("SELECT DISTINCT l FROM Lecture l LEFT JOIN FETCH l.semesters", Lecture.class)
+                .getResultList();
     }
 
+    // lecture_semester 가 아직 채워지지 않은 강의
     @Override
-    public LectureListAndCountDto findLectureByFindOption(String searchValue, LectureFindOption lectureFindOption) {
-        Optional<String> orderOption = lectureFindOption.getOrderOption();
-        Optional<Integer> pageNumber = lectureFindOption.getPageNumber();
-        if (pageNumber.isEmpty()) {
-            pageNumber = Optional.of(1);
-        }
-        if (orderOption.isEmpty()) {
-            orderOption = Optional.of("modifiedDate");
-        }
-
-        String[] orderOptions = {"modifiedDate",
-                "lectureSatisfactionAvg",
-                "lectureHoneyAvg",
-                "lectureLearningAvg",
-                "lectureTotalAvg"};
-
-        if (!Arrays.asList(orderOptions).contains(orderOption.get())) {
-            throw new AccountException(ErrorType.INVALID_ORDER_OPTION);
-        }
-
-        String query = "SELECT l FROM Lecture l ";
-        query += String.format("WHERE l.lectureName LIKE CONCAT('%%',UPPER(:value),'%%') OR l.professor LIKE CONCAT('%%',UPPER(:value),'%%') ORDER BY l.%s DESC", orderOption.get());
-
-        List<Lecture> lectureList = em.createQuery(query, Lecture.class)
-                .setParameter("value", searchValue)
-                .setFirstResult((pageNumber.get()-1)*10)
-                .setMaxResults(10)
+    public List<Lecture> findAllWithoutSemesters() {
+        return em.createQuery("SELECT l FROM Lecture l WHERE l.semesters IS EMPTY", Lecture.class)
                 .getResultList();
-
-        List countList = em.createQuery("SELECT COUNT(l) FROM Lecture l WHERE l.lectureName LIKE CONCAT('%%',UPPER(:value),'%%') OR l.professor LIKE CONCAT('%%',UPPER(:value),'%%')")
-                .setParameter("value", searchValue)
-                .getResultList();
-        Long count = (Long) countList.get(0);
-
-        return LectureListAndCountDto.builder().lectureList(lectureList).count(count).build();
     }
 
     @Override
-    public LectureListAndCountDto findAllLectureByFindOption(LectureFindOption lectureFindOption) {
-        Optional<String> orderOption = lectureFindOption.getOrderOption();
-        Optional<Integer> pageNumber = lectureFindOption.getPageNumber();
-        if (pageNumber.isEmpty()) {
-            pageNumber = Optional.of(1);
+    public List<Lecture> findAllByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
         }
-        if (orderOption.isEmpty()) {
-            orderOption = Optional.of("modifiedDate");
-        }
-
-        String[] orderOptions = {"modifiedDate",
-                "lectureSatisfactionAvg",
-                "lectureHoneyAvg",
-                "lectureLearningAvg",
-                "lectureTotalAvg"};
-
-//        String[] sortOptions = {"asc", "desc"};
-
-        if (!Arrays.asList(orderOptions).contains(orderOption.get())) {
-            throw new AccountException(ErrorType.INVALID_ORDER_OPTION);
-        }
-
-        String query = "SELECT l FROM Lecture l ";
-        query += String.format("ORDER BY l.%s DESC", orderOption.get());
-
-        List<Lecture> lectureList = em.createQuery(query, Lecture.class)
-                .setFirstResult((pageNumber.get()-1)*10)
-                .setMaxResults(10)
-                .getResultList();
-
-        List countList = em.createQuery("SELECT COUNT(l) FROM Lecture l")
+        return em.createQuery("SELECT l FROM Lecture l WHERE l.id IN :ids", Lecture.class)
+                .setParameter("ids", ids)
                 .getResultList();
-        Long count = (Long) countList.get(0);
-
-        return LectureListAndCountDto.builder().lectureList(lectureList).count(count).build();
     }
 
+    // 읽고 고쳐 쓰지 않고 한 문장 안에서 합계를 더하고 평균을 다시 계산하므로, 여러 스레드나 서버가 같은 강의를 동시에 갱신해도 잃는 값이 없다
     @Override
-    public LectureListAndCountDto findLectureByMajorType(String searchValue, LectureFindOption lectureFindOption) {
-        Optional<String> orderOption = lectureFindOption.getOrderOption();
-        Optional<Integer> pageNumber = lectureFindOption.getPageNumber();
-        if (pageNumber.isEmpty()) {
-            pageNumber = Optional.of(1);
+    public void applyRatingDeltas(List<LectureRatingDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
         }
-        if (orderOption.isEmpty()) {
-            orderOption = Optional.of("modifiedDate");
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        SqlParameterSource[] args = new SqlParameterSource[deltas.size()];
+        for (int i = 0; i < deltas.size(); i++) {
+            LectureRatingDelta delta = deltas.get(i);
+            args[i] = new MapSqlParameterSource()
+                    .addValue("satisfaction", delta.getLectureSatisfactionValue())
+                    .addValue("honey", delta.getLectureHoneyValue())
+                    .addValue("learning", delta.getLectureLearningValue())
+                    .addValue("team", delta.getLectureTeamValue())
+                    .addValue("difficulty", delta.getLectureDifficultyValue())
+                    .addValue("homework", delta.getLectureHomeworkValue())
+                    .addValue("count", delta.getPostsCount())
+                    .addValue("modifiedDate", now)
+                    .addValue("id", delta.getLectureId());
         }
+        jdbcTemplate.batchUpdate(APPLY_RATING_SQL, args);
+        applyHistogramDeltas(deltas);
+    }
 
-        String[] orderOptions = {"modifiedDate",
-                "lectureSatisfactionAvg",
-                "lectureHoneyAvg",
-                "lectureLearningAvg",
-                "lectureTotalAvg"};
-
-        if (!Arrays.asList(orderOptions).contains(orderOption.get())) {
-            throw new AccountException(ErrorType.INVALID_ORDER_OPTION);
+    // 분포 구간은 있으면 더하고, 처음 생기는 구간만 넣는다
+    private void applyHistogramDeltas(List<LectureRatingDelta> deltas) {
+        List<SqlParameterSource> buckets = new ArrayList<>();
+        for (LectureRatingDelta delta : deltas) {
+            int[] counts = delta.getHistogramCounts();
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                if (counts[bucket] != 0) {
+                    buckets.add(new MapSqlParameterSource()
+                            .addValue("lectureId", delta.getLectureId())
+                            .addValue("bucket", bucket)
+                            .addValue("count", counts[bucket]));
+                }
+            }
+        }
+        if (buckets.isEmpty()) {
+            return;
+        }
+        int[] updated = jdbcTemplate.batchUpdate(ADD_BUCKET_SQL, buckets.toArray(new SqlParameterSource[0]));
+        List<SqlParameterSource> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(buckets.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_BUCKET_SQL, missing.toArray(new SqlParameterSource[0]));
         }
-
-        String majorType = lectureFindOption.getMajorType().get();
-
-        String query = "SELECT l FROM Lecture l ";
-        query += String.format("WHERE l.majorType = :major AND (l.lectureName LIKE CONCAT('%%',UPPER(:value),'%%') OR l.professor LIKE CONCAT('%%',UPPER(:value),'%%')) ORDER BY l.%s DESC", orderOption.get());
-
-        List<Lecture> lectureList = em.createQuery(query, Lecture.class)
-                .setParameter("major", majorType)
-                .setParameter("value", searchValue)
-                .setFirstResult((pageNumber.get()-1)*10)
-                .setMaxResults(10)
-                .getResultList();
-
-        List countList = em.createQuery("SELECT COUNT(l) FROM Lecture l WHERE l.majorType = :major AND (l.lectureName LIKE CONCAT('%%',UPPER(:value),'%%') OR l.professor LIKE CONCAT('%%',UPPER(:value),'%%'))")
-                .setParameter("major", majorType)
-                .setParameter("value", searchValue)
-                .getResultList();
-        Long count = (Long) countList.get(0);
-
-        return LectureListAndCountDto.builder().lectureList(lectureList).count(count).build();
     }
 
     @Override
-    public LectureListAndCountDto findAllLectureByMajorType(LectureFindOption lectureFindOption) {
-        Optional<String> orderOption = lectureFindOption.getOrderOption();
-        Optional<Integer> pageNumber = lectureFindOption.getPageNumber();
-        if (pageNumber.isEmpty()) {
-            pageNumber = Optional.of(1);
-        }
-        if (orderOption.isEmpty()) {
-            orderOption = Optional.of("modifiedDate");
+    public Map<Long, int[]> findHistograms(List<Long> lectureIds) {
+        Map<Long, int[]> result = new HashMap<>();
+        if (lectureIds.isEmpty()) {
+            return result;
         }
-
-        String[] orderOptions = {"modifiedDate",
-                "lectureSatisfactionAvg",
-                "lectureHoneyAvg",
-                "lectureLearningAvg",
-                "lectureTotalAvg"};
-
-//        String[] sortOptions = {"asc", "desc"};
-
-        if (!Arrays.asList(orderOptions).contains(orderOption.get())) {
-            throw new AccountException(ErrorType.INVALID_ORDER_OPTION);
+        List<LectureRatingBucket> buckets = em.createQuery("SELECT b FROM LectureRatingBucket b WHERE b.lectureId IN :ids", LectureRatingBucket.class)
+                .setParameter("ids", lectureIds)
+                .getResultList();
+        for (LectureRatingBucket bucket : buckets) {
+            result.computeIfAbsent(bucket.getLectureId(), id -> new int[LectureRatingHistogram.SIZE])[bucket.getBucket()] = bucket.getPostsCount();
         }
+        return result;
+    }
 
-        String majorType = lectureFindOption.getMajorType().get();
-
-        String query = "SELECT l FROM Lecture l ";
-        query += String.format("WHERE l.majorType = :major ORDER BY l.%s DESC", orderOption.get());
-
-        List<Lecture> lectureList = em.createQuery(query, Lecture.class)
-                .setParameter("major",majorType)
-                .setFirstResult((pageNumber.get()-1)*10)
-                .setMaxResults(10)
-                .getResultList();
+    private static String average(String column, String delta) {
+        return "CASE WHEN posts_count + :count < 1 THEN 0 ELSE (" + column + " + " + delta + ") / (posts_count + :count) END";
+    }
 
-        List countList = em.createQuery("SELECT COUNT(l) FROM Lecture l WHERE l.majorType = :major")
-                .setParameter("major",majorType)
-                .getResultList();
-        Long count = (Long) countList.get(0);
+    @Override
+    public Lecture verifyJsonLecture(String lectureName, String professorName, String majorType) {
+        List<Lecture> resultList = em.createQuery("SELECT l FROM Lecture l WHERE(l.lectureName =:lectureName AND l.professor =:professor AND l.majorType = :majorType)")
+                .setParameter("lectureName", lectureName)
+                .setParameter("professor", professorName)
+                .setParameter("majorType", majorType)
+                .getResultList();     //refactoring 해야한다
+        if (resultList.isEmpty()) {
+            return null;
+        } else return resultList.get(0);
+    }
 
-        return LectureListAndCountDto.builder().lectureList(lectureList).count(count).build();
+    @Override
+    public LectureListAndCountDto findLectureList(String searchValue, LectureFindOption lectureFindOption) {
+        return lectureQueryEngine.findLectureList(searchValue, lectureFindOption);
     }
 
     @Override
@@ -207,4 +183,11 @@ public class JpaLectureRepository implements LectureRepository {
 
         return resultList;
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<MajorTypeCountDto> findAllMajorTypeCount() {
+        return em.createQuery("SELECT new usw.suwiki.domain.lecture.MajorTypeCountDto(l.majorType, COUNT(l)) FROM Lecture l "
+                        + "WHERE l.majorType IS NOT NULL AND l.majorType <> '' GROUP BY l.majorType", MajorTypeCountDto.class)
+                .getResultList();
+    }
+}
@@ -2,13 +2,14 @@ package usw.suwiki.domain.lecture;
 
 import org.springframework.data.annotation.LastModifiedDate;
 import usw.suwiki.global.BaseTimeEntity;
-import usw.suwiki.domain.evaluation.EvaluatePostsToLecture;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 @Getter
 @NoArgsConstructor
@@ -19,6 +20,12 @@ public class Lecture extends BaseTimeEntity {
     private Long id;
 
     private String semesterList;
+
+    // semesterList("2021-2, 2022-1") 를 학기 단위로 정규화한 값
+    @ElementCollection
+    @CollectionTable(name = "lecture_semester", joinColumns = @JoinColumn(name = "lecture_id"))
+    @Column(name = "semester")
+    private Set<String> semesters = new LinkedHashSet<>();
     private String placeSchedule;  // 시간표 대로 나워야 하나?
     private String professor;
     private int grade;
@@ -54,6 +61,44 @@ public class Lecture extends BaseTimeEntity {
         this.semesterList = semester;
     }
 
+    // 개설 학기 추가. 이미 있는 학기면 false
+    // semesters 는 DB 에서 읽으면 순서가 없으므로 semesterList 는 기존 문자열 뒤에 붙인다
+    public boolean addSemester(String semester) {
+        syncSemesters();
+        if (!semesters.add(semester)) {
+            return false;
+        }
+        this.semesterList = semesterList == null || semesterList.isBlank() ? semester : semesterList + ", " + semester;
+        return true;
+    }
+
+    // 정규화 이전에 저장된 강의는 semesterList 문자열에서 학기 목록을 채운다. 채웠으면 true
+    public boolean syncSemesters() {
+        if (!semesters.isEmpty()) {
+            return false;
+        }
+        semesters.addAll(parseSemesterList());
+        return !semesters.isEmpty();
+    }
+
+    // 읽기 전용. lecture_semester 가 아직 채워지지 않은 강의는 semesterList 로 대신한다
+    public Set<String> semesterValues() {
+        return semesters.isEmpty() ? parseSemesterList() : semesters;
+    }
+
+    private Set<String> parseSemesterList() {
+        Set<String> result = new LinkedHashSet<>();
+        if (semesterList == null) {
+            return result;
+        }
+        for (String semester : semesterList.split(",")) {
+            if (!semester.isBlank()) {
+                result.add(semester.trim());
+            }
+        }
+        return result;
+    }
+
 
     @Builder
     public Lecture(String semesterList, String placeSchedule, String professor, String lectureType, String lectureCode,
@@ -73,49 +118,9 @@ public class Lecture extends BaseTimeEntity {
     }
 
 
-    public void addLectureValue(EvaluatePostsToLecture dto){
-        this.lectureSatisfactionValue += dto.getLectureSatisfaction();
-        this.lectureHoneyValue += dto.getLectureHoney();
-        this.lectureLearningValue += dto.getLectureLearning();
-        this.lectureTeamValue += dto.getLectureTeam();
-        this.lectureDifficultyValue += dto.getLectureDifficulty();
-        this.lectureHomeworkValue += dto.getLectureHomework();
-        this.postsCount += 1;
-    }
-
-    public void cancelLectureValue(EvaluatePostsToLecture dto){
-        this.lectureSatisfactionValue -= dto.getLectureSatisfaction();
-        this.lectureHoneyValue -= dto.getLectureHoney();
-        this.lectureLearningValue -= dto.getLectureLearning();
-        this.lectureTeamValue -= dto.getLectureTeam();
-        this.lectureDifficultyValue -= dto.getLectureDifficulty();
-        this.lectureHomeworkValue -= dto.getLectureHomework();
-        this.postsCount -= 1;
-    }
-
-    public void calcLectureAvg(){
-        if(postsCount < 1){
-            this.lectureTotalAvg = 0;
-            this.lectureSatisfactionAvg = 0;
-            this.lectureHoneyAvg = 0;
-            this.lectureLearningAvg = 0;
-            this.lectureTeamAvg = 0;
-            this.lectureDifficultyAvg = 0;
-            this.lectureHomeworkAvg = 0;
-        }else {
-            this.lectureSatisfactionAvg = lectureSatisfactionValue / postsCount;
-            this.lectureHoneyAvg = lectureHoneyValue / postsCount;
-            this.lectureLearningAvg = lectureLearningValue / postsCount;
-            this.lectureTeamAvg = lectureTeamValue / postsCount;
-            this.lectureDifficultyAvg = lectureDifficultyValue / postsCount;
-            this.lectureHomeworkAvg = lectureHomeworkValue / postsCount;
-            this.lectureTotalAvg = (lectureSatisfactionAvg + lectureHoneyAvg + lectureLearningAvg) / 3;
-        }
-    }
-
-
     public void toEntity(JsonToLectureDto dto){
         this.semesterList = dto.getSelectedSemester();
+        this.semesters.add(dto.getSelectedSemester());
         this.placeSchedule = dto.getPlaceSchedule();
         this.professor = dto.getProfessor();
         this.lectureType = dto.getLectureType();
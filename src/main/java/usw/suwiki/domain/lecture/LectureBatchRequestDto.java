@@ -0,0 +1,19 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+public class LectureBatchRequestDto {
+    public static final int MAX_SIZE = 100;
+
+    private List<Long> lectureIds = new ArrayList<>();
+
+    public LectureBatchRequestDto(List<Long> lectureIds) {
+        this.lectureIds = lectureIds;
+    }
+}
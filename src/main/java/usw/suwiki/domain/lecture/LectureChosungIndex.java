@@ -0,0 +1,91 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+
+/**
+ * lectureName, professor 의 초성 분해 키 색인. ("ㅈㄹㄱㅈ" -> 자료구조)
+ * 검색어가 자음(호환용 자모)으로만 이루어진 경우 DB 대신 이 색인으로 검색한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LectureChosungIndex {
+
+    private static final char[] CHOSUNG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+    private static final char SYLLABLE_BEGIN = '가';
+    private static final char SYLLABLE_END = '힣';
+    private static final int SYLLABLES_PER_CHOSUNG = 21 * 28;
+
+    private final LectureReadModel lectureReadModel;
+
+    private volatile NgramIndex index = NgramIndex.EMPTY;
+
+    public boolean isReady() {
+        return index.isReady();
+    }
+
+    // LectureReadModel 이 먼저 rebuild 된 뒤 같은 컬럼을 기준으로 색인한다
+    public void rebuild() {
+        LectureReadModel.Columns columns = lectureReadModel.columns();
+        int size = columns.size();
+        String[] lectureNames = new String[size];
+        String[] professors = new String[size];
+        for (int i = 0; i < size; i++) {
+            lectureNames[i] = toChosung(columns.lectureNames[i]);
+            professors[i] = toChosung(columns.professors[i]);
+        }
+        this.index = new NgramIndex(columns, lectureNames, professors);
+    }
+
+    public LectureListAndCountDto search(String searchValue, LectureFindOption option) {
+        long generation = lectureReadModel.countGeneration();
+        NgramIndex current = index;
+        BitSet matched = current.match(toChosung(searchValue));
+        String countKey = LectureCountCache.key(searchValue, option);
+        return lectureReadModel.findPage(current.columns, option, matched::get, countKey, generation);
+    }
+
+    // 공백을 뺀 나머지가 모두 자음이면 초성 검색으로 본다
+    public static boolean isChosung(String value) {
+        if (value == null) {
+            return false;
+        }
+        boolean hasConsonant = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (c < 'ㄱ' || c > 'ㅎ') {
+                return false;
+            }
+            hasConsonant = true;
+        }
+        return hasConsonant;
+    }
+
+    // 완성형 한글은 초성으로 바꾸고 공백은 지운다. 그 외 문자는 대문자로 그대로 둔다.
+    static String toChosung(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (c >= SYLLABLE_BEGIN && c <= SYLLABLE_END) {
+                builder.append(CHOSUNG[(c - SYLLABLE_BEGIN) / SYLLABLES_PER_CHOSUNG]);
+            } else {
+                builder.append(Character.toUpperCase(c));
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,118 @@
+package usw.suwiki.domain.lecture;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * "이 강의를 평가한 학생들이 평가한 다른 강의" 추천.
+ * LectureCoOccurrenceJobConfig 배치가 만든 불변 스냅샷을 volatile 참조 하나로 교체하므로 조회에는 lock 이 없다.
+ */
+@Component
+public class LectureCoOccurrence {
+
+    public static final int TOP_K = 10;
+
+    private volatile Snapshot snapshot = new Snapshot(new int[0], new int[1], new int[0]);
+
+    public void publish(Snapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    // 함께 평가된 횟수가 많은 순의 강의 id
+    public long[] findNeighborIds(Long lectureId) {
+        Snapshot current = snapshot;
+        if (lectureId == null || lectureId <= 0 || lectureId > Integer.MAX_VALUE) {
+            return new long[0];
+        }
+        int row = Arrays.binarySearch(current.lectureIds, lectureId.intValue());
+        if (row < 0) {
+            return new long[0];
+        }
+        long[] result = new long[current.offsets[row + 1] - current.offsets[row]];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = current.neighbors[current.offsets[row] + i];
+        }
+        return result;
+    }
+
+    // 정렬된 강의 id 와 CSR(offsets, neighbors)
+    public static class Snapshot {
+        private final int[] lectureIds;
+        private final int[] offsets;
+        private final int[] neighbors;
+
+        private Snapshot(int[] lectureIds, int[] offsets, int[] neighbors) {
+            this.lectureIds = lectureIds;
+            this.offsets = offsets;
+            this.neighbors = neighbors;
+        }
+    }
+
+    /**
+     * 사용자별 평가 강의 목록을 받아 희소 동시 출현 행렬을 만든다.
+     * 행마다 int -> int 맵 하나이고, 강의 id 에서 행 번호로의 매핑도 박싱 없는 맵을 쓴다.
+     */
+    static class Builder {
+        // 한 사용자가 지나치게 많은 강의를 평가한 경우 쌍의 수가 제곱으로 늘지 않게 자른다
+        private static final int MAX_LECTURES_PER_USER = 100;
+
+        private final IntIntHashMap rowIndexes = new IntIntHashMap(1024);
+        private final List<IntIntHashMap> rows = new ArrayList<>();
+
+        void addUser(int[] lectureIds, int size) {
+            int count = Math.min(size, MAX_LECTURES_PER_USER);
+            for (int i = 0; i < count; i++) {
+                IntIntHashMap row = row(lectureIds[i]);
+                for (int j = 0; j < count; j++) {
+                    if (lectureIds[j] != lectureIds[i]) {
+                        row.addTo(lectureIds[j], 1);
+                    }
+                }
+            }
+        }
+
+        private IntIntHashMap row(int lectureId) {
+            int index = rowIndexes.putIfAbsent(lectureId, rows.size());
+            if (index == rows.size()) {
+                rows.add(new IntIntHashMap());
+            }
+            return rows.get(index);
+        }
+
+        // 행마다 횟수 상위 topK 개만 남긴다 (같으면 id 가 작은 순)
+        Snapshot build(int topK) {
+            int[] lectureIds = new int[rows.size()];
+            int[] size = {0};
+            rowIndexes.forEach((lectureId, row) -> lectureIds[size[0]++] = lectureId);
+            Arrays.sort(lectureIds);
+
+            int[] offsets = new int[lectureIds.length + 1];
+            int[][] tops = new int[lectureIds.length][];
+            for (int i = 0; i < lectureIds.length; i++) {
+                tops[i] = top(rows.get(rowIndexes.get(lectureIds[i], -1)), topK);
+                offsets[i + 1] = offsets[i] + tops[i].length;
+            }
+            int[] neighbors = new int[offsets[lectureIds.length]];
+            for (int i = 0; i < lectureIds.length; i++) {
+                System.arraycopy(tops[i], 0, neighbors, offsets[i], tops[i].length);
+            }
+            return new Snapshot(lectureIds, offsets, neighbors);
+        }
+
+        // (횟수 << 32 | ~id) 를 long 하나로 묶어 정렬한다
+        private static int[] top(IntIntHashMap row, int topK) {
+            long[] packed = new long[row.size()];
+            int[] size = {0};
+            row.forEach((lectureId, count) -> packed[size[0]++] = ((long) count << 32) | (~lectureId & 0xFFFFFFFFL));
+            Arrays.sort(packed);
+            int[] result = new int[Math.min(topK, packed.length)];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = ~(int) packed[packed.length - 1 - i];
+            }
+            return result;
+        }
+    }
+}
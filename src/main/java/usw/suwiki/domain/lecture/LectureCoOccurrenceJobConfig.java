@@ -0,0 +1,83 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
+import org.springframework.batch.item.database.support.SqlPagingQueryProviderFactoryBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 강의평가 (user_idx, lecture_id) 쌍을 사용자 순으로 읽어 강의 동시 출현 추천을 만드는 Job.
+ * 쌍은 페이지 단위로 읽어 메모리에 전체 목록을 올리지 않는다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class LectureCoOccurrenceJobConfig {
+
+    public static final String JOB_NAME = "lectureCoOccurrenceJob";
+    private static final int CHUNK_SIZE = 1000;
+
+    private final JobBuilderFactory jobBuilderFactory;
+    private final StepBuilderFactory stepBuilderFactory;
+    private final DataSource dataSource;
+    private final LectureCoOccurrence lectureCoOccurrence;
+
+    @Bean
+    public Job lectureCoOccurrenceJob() {
+        return jobBuilderFactory.get(JOB_NAME)
+                .start(lectureCoOccurrenceStep())
+                .build();
+    }
+
+    @Bean
+    public Step lectureCoOccurrenceStep() {
+        LectureCoOccurrenceWriter writer = new LectureCoOccurrenceWriter(lectureCoOccurrence);
+        return stepBuilderFactory.get("lectureCoOccurrenceStep")
+                .<long[], long[]>chunk(CHUNK_SIZE)
+                .reader(evaluatePairReader())
+                .writer(writer)
+                .listener(writer)
+                .build();
+    }
+
+    // MySQL 드라이버는 useCursorFetch 없이는 fetchSize 를 무시하고 결과 전체를 메모리에 올리므로 (user_idx, id) 순 페이지로 읽는다
+    // 집계 상태가 메모리에만 있으므로 재시작 지점은 저장하지 않고 매번 처음부터 읽는다
+    @Bean
+    @StepScope
+    public JdbcPagingItemReader<long[]> evaluatePairReader() {
+        Map<String, Order> sortKeys = new LinkedHashMap<>();
+        sortKeys.put("user_idx", Order.ASCENDING);
+        sortKeys.put("id", Order.ASCENDING);
+
+        SqlPagingQueryProviderFactoryBean queryProvider = new SqlPagingQueryProviderFactoryBean();
+        queryProvider.setDataSource(dataSource);
+        queryProvider.setSelectClause("id, user_idx, lecture_id");
+        queryProvider.setFromClause("evaluate_posts");
+        queryProvider.setWhereClause("user_idx IS NOT NULL AND lecture_id IS NOT NULL");
+        queryProvider.setSortKeys(sortKeys);
+
+        try {
+            return new JdbcPagingItemReaderBuilder<long[]>()
+                    .name("evaluatePairReader")
+                    .dataSource(dataSource)
+                    .queryProvider(queryProvider.getObject())
+                    .pageSize(CHUNK_SIZE)
+                    .rowMapper((rs, rowNum) -> new long[]{rs.getLong("user_idx"), rs.getLong("lecture_id")})
+                    .saveState(false)
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException("페이징 쿼리를 만들 수 없습니다", e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import usw.suwiki.config.BatchConfig;
+
+// 서버 시작 시 한 번, 이후 매일 새벽 강의 동시 출현 Job 실행. Job 은 BatchConfig 의 전용 스레드에서 돈다
+@Slf4j
+@Component
+public class LectureCoOccurrenceScheduler {
+
+    private final JobLauncher jobLauncher;
+    private final Job lectureCoOccurrenceJob;
+
+    public LectureCoOccurrenceScheduler(@Qualifier(BatchConfig.ASYNC_JOB_LAUNCHER) JobLauncher jobLauncher,
+                                        @Qualifier(LectureCoOccurrenceJobConfig.JOB_NAME) Job lectureCoOccurrenceJob) {
+        this.jobLauncher = jobLauncher;
+        this.lectureCoOccurrenceJob = lectureCoOccurrenceJob;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void runOnStartup() {
+        run();
+    }
+
+    @Scheduled(cron = "0 30 4 * * *")
+    public synchronized void run() {
+        try {
+            jobLauncher.run(lectureCoOccurrenceJob, new JobParametersBuilder()
+                    .addLong("requestedAt", System.currentTimeMillis())
+                    .toJobParameters());
+        } catch (Exception e) {
+            log.error("lectureCoOccurrenceJob 실행 실패", e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package usw.suwiki.domain.lecture;
+
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ItemWriter;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * user_idx 순으로 정렬된 (user_idx, lecture_id) 쌍을 받아 사용자 단위로 끊어 Builder 에 넘긴다.
+ * Step 이 정상 종료되면 만든 스냅샷을 LectureCoOccurrence 에 게시한다.
+ */
+class LectureCoOccurrenceWriter implements ItemWriter<long[]>, StepExecutionListener {
+
+    private final LectureCoOccurrence lectureCoOccurrence;
+
+    private LectureCoOccurrence.Builder builder;
+    private long currentUser;
+    private int[] lectures;
+    private int size;
+
+    LectureCoOccurrenceWriter(LectureCoOccurrence lectureCoOccurrence) {
+        this.lectureCoOccurrence = lectureCoOccurrence;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        this.builder = new LectureCoOccurrence.Builder();
+        this.currentUser = -1;
+        this.lectures = new int[16];
+        this.size = 0;
+    }
+
+    @Override
+    public void write(List<? extends long[]> items) {
+        for (long[] pair : items) {
+            if (pair[0] != currentUser) {
+                flushUser();
+                currentUser = pair[0];
+            }
+            if (pair[1] <= 0 || pair[1] > Integer.MAX_VALUE) {
+                continue;
+            }
+            if (size == lectures.length) {
+                lectures = Arrays.copyOf(lectures, size * 2);
+            }
+            lectures[size++] = (int) pair[1];
+        }
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (ExitStatus.COMPLETED.getExitCode().equals(stepExecution.getExitStatus().getExitCode())) {
+            flushUser();
+            lectureCoOccurrence.publish(builder.build(LectureCoOccurrence.TOP_K));
+        }
+        this.builder = null;
+        return null;
+    }
+
+    private void flushUser() {
+        if (size > 1) {
+            builder.addUser(lectures, size);
+        }
+        size = 0;
+    }
+}
@@ -12,6 +12,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 
@@ -21,14 +23,27 @@ import java.util.Optional;
 public class LectureController {
 
     private final LectureService lectureService;
+    private final LectureQueryLog lectureQueryLog;
+    private final LecturePageService lecturePageService;
     private final JwtTokenValidator jwtTokenValidator;
     private final JwtTokenResolver jwtTokenResolver;
 
     @GetMapping("/search")
     public ResponseEntity<LectureToJsonArray>findByLectureSearchValue(@RequestParam String searchValue, @RequestParam(required = false)
-            Optional<String> option, @RequestParam(required = false) Optional<Integer> page, @RequestParam(required = false) Optional<String> majorType){
+            Optional<String> option, @RequestParam(required = false) Optional<Integer> page, @RequestParam(required = false) Optional<String> majorType,
+            @RequestParam(required = false) Optional<String> cursor, @RequestParam(required = false) Optional<Integer> grade,
+            @RequestParam(required = false) Optional<String> lectureType, @RequestParam(required = false) Optional<Double> point,
+            @RequestParam(required = false) Optional<String> evaluateType, @RequestParam(required = false) Optional<String> capprType,
+            @RequestParam(required = false) Optional<String> slots, @RequestParam(required = false) Optional<String> slotMode,
+            @RequestParam(required = false) Optional<String> semester){
         HttpHeaders header = new HttpHeaders();
-        LectureFindOption findOption = LectureFindOption.builder().orderOption(option).pageNumber(page).majorType(majorType).build();
+        // 다음 페이지 요청은 새 검색이 아니므로 첫 페이지만 검색어 로그에 남긴다
+        if (page.orElse(1) <= 1 && cursor.isEmpty()) {
+            lectureQueryLog.record(searchValue);
+        }
+        LectureFindOption findOption = LectureFindOption.builder().orderOption(option).pageNumber(page).majorType(majorType).cursor(cursor)
+                .grade(grade).lectureType(lectureType).point(point).evaluateType(evaluateType).capprType(capprType)
+                .slots(slots).slotMode(slotMode).semester(semester).build();
         if(findOption.getMajorType().get().equals("")){
             LectureToJsonArray  data = lectureService.findLectureByFindOption(searchValue, findOption);
             return new ResponseEntity<LectureToJsonArray>(data, header, HttpStatus.valueOf(200));
@@ -41,10 +56,21 @@ public class LectureController {
     @GetMapping("/all")
     public ResponseEntity<LectureToJsonArray>findAllList(@RequestParam(required = false) Optional<String> option,
                                                          @RequestParam(required = false) Optional<Integer> page,
-                                                         @RequestParam(required = false) Optional<String> majorType){
+                                                         @RequestParam(required = false) Optional<String> majorType,
+                                                         @RequestParam(required = false) Optional<String> cursor,
+                                                         @RequestParam(required = false) Optional<Integer> grade,
+                                                         @RequestParam(required = false) Optional<String> lectureType,
+                                                         @RequestParam(required = false) Optional<Double> point,
+                                                         @RequestParam(required = false) Optional<String> evaluateType,
+                                                         @RequestParam(required = false) Optional<String> capprType,
+                                                         @RequestParam(required = false) Optional<String> slots,
+                                                         @RequestParam(required = false) Optional<String> slotMode,
+                                                         @RequestParam(required = false) Optional<String> semester){
         System.out.println("!!!!!!!!!!!!!!!!!!!!!!!");
         HttpHeaders header = new HttpHeaders();
-        LectureFindOption findOption = LectureFindOption.builder().orderOption(option).pageNumber(page).majorType(majorType).build();
+        LectureFindOption findOption = LectureFindOption.builder().orderOption(option).pageNumber(page).majorType(majorType).cursor(cursor)
+                .grade(grade).lectureType(lectureType).point(point).evaluateType(evaluateType).capprType(capprType)
+                .slots(slots).slotMode(slotMode).semester(semester).build();
         if(findOption.getMajorType().get().equals("")){
             LectureToJsonArray  data = lectureService.findAllLectureByFindOption(findOption);
             return new ResponseEntity<LectureToJsonArray>(data, header, HttpStatus.valueOf(200));
@@ -54,6 +80,52 @@ public class LectureController {
         }
     }
 
+    // 검색창 자동완성 (강의명, 교수명 prefix)
+    @GetMapping("/suggest")
+    public ResponseEntity<ToJsonArray>suggest(@RequestParam String prefix, @RequestParam(required = false) Optional<Integer> size){
+        HttpHeaders header = new HttpHeaders();
+        List<LectureSuggestDto> list = lectureService.suggest(prefix, size.orElse(LectureSuggestIndex.DEFAULT_SIZE));
+        ToJsonArray data = new ToJsonArray(list);
+        return new ResponseEntity<ToJsonArray>(data, header, HttpStatus.valueOf(200));
+    }
+
+    // 인기 검색어
+    @GetMapping("/popular")
+    public ResponseEntity<ToJsonArray>findPopularSearches(@RequestParam(required = false) Optional<Integer> size){
+        HttpHeaders header = new HttpHeaders();
+        List<PopularSearchDto> list = lectureService.findPopularSearches(size.orElse(10));
+        ToJsonArray data = new ToJsonArray(list);
+        return new ResponseEntity<ToJsonArray>(data, header, HttpStatus.valueOf(200));
+    }
+
+    // 관련 강의 (같은 과목코드, 같은 교수, 같은 학과의 비슷한 평점)
+    @GetMapping("/related")
+    public ResponseEntity<ToJsonArray>findRelatedLectures(@RequestParam Long lectureId){
+        HttpHeaders header = new HttpHeaders();
+        RelatedLecturesDto related = lectureService.findRelatedLectures(lectureId);
+        ToJsonArray data = new ToJsonArray(related);
+        return new ResponseEntity<ToJsonArray>(data, header, HttpStatus.valueOf(200));
+    }
+
+    // 이 강의를 평가한 학생들이 함께 평가한 강의
+    @GetMapping("/also-rated")
+    public ResponseEntity<ToJsonArray>findAlsoRatedLectures(@RequestParam Long lectureId){
+        HttpHeaders header = new HttpHeaders();
+        List<LectureResponseDto> list = lectureService.findAlsoRatedLectures(lectureId);
+        ToJsonArray data = new ToJsonArray(list);
+        return new ResponseEntity<ToJsonArray>(data, header, HttpStatus.valueOf(200));
+    }
+
+    // 학과별(majorType 이 없으면 전체) 지표 상위 n 개 강의
+    @GetMapping("/top")
+    public ResponseEntity<ToJsonArray>findTopLectures(@RequestParam(required = false) Optional<String> majorType, @RequestParam String metric,
+                                                      @RequestParam(required = false) Optional<Integer> n){
+        HttpHeaders header = new HttpHeaders();
+        List<LectureResponseDto> list = lectureService.findTopLectures(majorType.orElse(""), metric, n.orElse(LectureLeaderboard.DEFAULT_SIZE));
+        ToJsonArray data = new ToJsonArray(list);
+        return new ResponseEntity<ToJsonArray>(data, header, HttpStatus.valueOf(200));
+    }
+
     @GetMapping
     public ResponseEntity<ToJsonArray>findLectureByLectureId(@RequestParam Long lectureId ,@RequestHeader String Authorization){
         HttpHeaders header = new HttpHeaders();
@@ -67,4 +139,31 @@ public class LectureController {
 
     }
 
+    // 강의 화면 묶음 조회 (강의 상세 + 강의평가 page + 시험정보 첫 페이지)
+    @GetMapping("/page")
+    public ResponseEntity<ToJsonArray>findLecturePage(@RequestParam Long lectureId, @RequestHeader String Authorization,
+                                                      @RequestParam(required = false) Optional<Integer> page){
+        HttpHeaders header = new HttpHeaders();
+
+        if (jwtTokenValidator.validateAccessToken(Authorization)) {
+            if (jwtTokenResolver.getUserIsRestricted(Authorization)) throw new AccountException(ErrorType.USER_RESTRICTED);
+            LecturePageDto lecturePage = lecturePageService.findLecturePage(lectureId, jwtTokenResolver.getId(Authorization), page);
+            ToJsonArray data = new ToJsonArray(lecturePage);
+            return new ResponseEntity<ToJsonArray>(data, header, HttpStatus.valueOf(200));
+        }else throw new AccountException(ErrorType.TOKEN_IS_NOT_FOUND);
+    }
+
+    // 여러 강의 상세를 토큰 검증 한 번으로 조회 (lectureId -> 상세)
+    @PostMapping("/batch")
+    public ResponseEntity<ToJsonArray>findLecturesByLectureIds(@RequestBody LectureBatchRequestDto dto, @RequestHeader String Authorization){
+        HttpHeaders header = new HttpHeaders();
+
+        if (jwtTokenValidator.validateAccessToken(Authorization)) {
+            if (jwtTokenResolver.getUserIsRestricted(Authorization)) throw new AccountException(ErrorType.USER_RESTRICTED);
+            Map<Long, LectureDetailResponseDto> lectures = lectureService.findAllByIdsDetail(dto.getLectureIds());
+            ToJsonArray data = new ToJsonArray(lectures);
+            return new ResponseEntity<ToJsonArray>(data, header, HttpStatus.valueOf(200));
+        }else throw new AccountException(ErrorType.TOKEN_IS_NOT_FOUND);
+    }
+
 }
@@ -0,0 +1,80 @@
+package usw.suwiki.domain.lecture;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * (majorType, 정규화한 searchValue, 필터 조건) 별 강의 전체 개수 LRU 캐시.
+ * 평점 변경은 개수에 영향이 없으므로 강의가 새로 등록될 때(시간표 Json 등록, 관리자 변경)만 비운다.
+ * 비울 때마다 세대를 올리고, 이전 세대에서 계산을 시작한 개수는 저장하지 않는다.
+ */
+@Component
+public class LectureCountCache {
+
+    private static final int MAX_SIZE = 2048;
+
+    private final Map<String, Long> counts = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    // 검색 조건 중 개수에 영향을 주는 값만 키에 넣는다 (정렬, 페이지, cursor 제외)
+    // 검색어는 색인과 같은 규칙으로 정규화해 앞뒤 공백만 다른 검색도 같은 키가 되게 한다
+    public static String key(String searchValue, LectureFindOption option) {
+        String value = LectureSearchIndex.normalize(searchValue);
+        return String.join("\u0000", option.getMajorType().orElse(""), value,
+                option.getSemester().orElse(""),
+                option.getGrade().map(String::valueOf).orElse(""),
+                option.getLectureType().orElse(""),
+                option.getPoint().map(LectureFacets::pointValue).orElse(""),
+                option.getEvaluateType().orElse(""),
+                option.getCapprType().orElse(""),
+                option.validSlots().map(mask -> option.validSlotMode() + LectureTimeSlot.toKey(mask)).orElse(""));
+    }
+
+    // 같은 키의 facet 별 개수. 개수와 마찬가지로 평점 변경과 무관하다.
+    private final Map<String, Map<String, Map<String, Long>>> facetCounts = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Map<String, Map<String, Long>>> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    private long generation;
+
+    // 개수 계산에 쓸 색인/DB 를 읽기 전에 가져와 put 에 넘긴다
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized Long get(String key) {
+        return counts.get(key);
+    }
+
+    // 계산하는 동안 색인이 다시 만들어졌으면 이전 색인 기준 개수이므로 버린다
+    public synchronized void put(String key, long generation, Long count) {
+        if (generation == this.generation) {
+            counts.put(key, count);
+        }
+    }
+
+    public synchronized Map<String, Map<String, Long>> getFacetCounts(String key) {
+        return facetCounts.get(key);
+    }
+
+    public synchronized void putFacetCounts(String key, long generation, Map<String, Map<String, Long>> facets) {
+        if (generation == this.generation) {
+            facetCounts.put(key, facets);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        counts.clear();
+        facetCounts.clear();
+    }
+}
@@ -0,0 +1,100 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.Getter;
+import usw.suwiki.exception.AccountException;
+import usw.suwiki.exception.ErrorType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * keyset 페이지네이션 커서. (정렬 옵션, 정렬 값, id) 를 base64 로 감싼 불투명 문자열로 주고받는다.
+ * modifiedDate 는 epoch micros, 평점 컬럼은 float 값을 그대로 담는다. modifiedDate 가 없는 강의는 Long.MIN_VALUE 로 담는다.
+ */
+@Getter
+public class LectureCursor {
+
+    private final String orderOption;
+    private final double orderValue;
+    private final long id;
+
+    public LectureCursor(String orderOption, double orderValue, long id) {
+        this.orderOption = orderOption;
+        this.orderValue = orderValue;
+        this.id = id;
+    }
+
+    // orderValue 는 정렬 컬럼 값 그대로 (modifiedDate 는 LocalDateTime, 평점은 Float)
+    public static LectureCursor of(String orderOption, Object orderValue, long id) {
+        if (orderValue instanceof LocalDateTime) {
+            return new LectureCursor(orderOption, toEpochMicros((LocalDateTime) orderValue), id);
+        }
+        return new LectureCursor(orderOption, orderValue == null ? 0 : ((Number) orderValue).doubleValue(), id);
+    }
+
+    // 커서의 정렬 옵션이 요청과 다르면 잘못된 커서로 본다
+    public static LectureCursor decode(String cursor, String orderOption) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3 || !parts[0].equals(orderOption)) {
+                throw new AccountException(ErrorType.INVALID_CURSOR_OPTION);
+            }
+            LectureCursor result = new LectureCursor(parts[0], Double.parseDouble(parts[1]), Long.parseLong(parts[2]));
+            if (!result.isValid()) {
+                throw new AccountException(ErrorType.INVALID_CURSOR_OPTION);
+            }
+            return result;
+        } catch (IllegalArgumentException e) {
+            throw new AccountException(ErrorType.INVALID_CURSOR_OPTION);
+        }
+    }
+
+    // 조작된 값으로 정렬 값이 무한대이거나 날짜 범위를 벗어나면 잘못된 커서
+    private boolean isValid() {
+        if (!Double.isFinite(orderValue)) {
+            return false;
+        }
+        if (!isModifiedDateOrder() || !hasModifiedDate()) {
+            return true;
+        }
+        try {
+            getModifiedDate();
+            return true;
+        } catch (DateTimeException e) {
+            return false;
+        }
+    }
+
+    public String encode() {
+        String raw = orderOption + ":" + orderValue + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isModifiedDateOrder() {
+        return LectureFindOption.DEFAULT_ORDER_OPTION.equals(orderOption);
+    }
+
+    public boolean hasModifiedDate() {
+        return orderValue != Long.MIN_VALUE;
+    }
+
+    // modifiedDate 가 없는 강의에서 만든 커서면 null
+    public LocalDateTime getModifiedDate() {
+        if (!hasModifiedDate()) {
+            return null;
+        }
+        long micros = (long) orderValue;
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1000, ZoneOffset.UTC);
+    }
+
+    public static long toEpochMicros(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return Long.MIN_VALUE;
+        }
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1000;
+    }
+}
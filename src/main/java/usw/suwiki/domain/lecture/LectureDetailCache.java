@@ -0,0 +1,57 @@
+package usw.suwiki.domain.lecture;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Function;
+
+/**
+ * 강의 상세(LectureDetailResponseDto) 캐시. Caffeine(W-TinyLFU) 로 크기를 제한하고,
+ * hit/miss/eviction 지표는 actuator 의 cache.* 메트릭(cache=lectureDetail)으로 노출된다.
+ */
+@Component
+public class LectureDetailCache {
+
+    private static final long MAXIMUM_SIZE = 5_000;
+
+    private final Cache<Long, LectureDetailResponseDto> cache;
+
+    public LectureDetailCache(MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "lectureDetail");
+    }
+
+    // loader 가 null 을 돌려주면 캐시에 넣지 않는다
+    public LectureDetailResponseDto get(Long lectureId, Function<Long, LectureDetailResponseDto> loader) {
+        return cache.get(lectureId, loader);
+    }
+
+    public LectureDetailResponseDto getIfPresent(Long lectureId) {
+        return cache.getIfPresent(lectureId);
+    }
+
+    public void put(Long lectureId, LectureDetailResponseDto dto) {
+        cache.put(lectureId, dto);
+    }
+
+    // 바로 지우고, 트랜잭션 중이면 커밋 직후 한 번 더 지워 커밋 전에 다시 채워진 값을 버린다
+    public void evict(Long lectureId) {
+        cache.invalidate(lectureId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(lectureId);
+                }
+            });
+        }
+    }
+}
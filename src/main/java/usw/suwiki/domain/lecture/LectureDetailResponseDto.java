@@ -4,6 +4,8 @@ import usw.suwiki.domain.lecture.Lecture;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 @Getter
 @NoArgsConstructor
 public class LectureDetailResponseDto {
@@ -23,6 +25,8 @@ public class LectureDetailResponseDto {
     private float lectureDifficultyAvg;
     private float lectureHomeworkAvg;
 
+    private Map<String, int[]> ratingDistribution; // 지표별 구간 평가 수 (LectureRatingHistogram)
+
     public LectureDetailResponseDto(Lecture entity) {
         this.id = entity.getId();
         this.semesterList = entity.getSemesterList();
@@ -38,4 +42,9 @@ public class LectureDetailResponseDto {
         this.lectureDifficultyAvg = entity.getLectureDifficultyAvg();
         this.lectureHomeworkAvg = entity.getLectureHomeworkAvg();
     }
+
+    public LectureDetailResponseDto(Lecture entity, int[] histogram) {
+        this(entity);
+        this.ratingDistribution = LectureRatingHistogram.toDistribution(histogram);
+    }
 }
\ No newline at end of file
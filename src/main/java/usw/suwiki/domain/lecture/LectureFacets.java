@@ -0,0 +1,125 @@
+package usw.suwiki.domain.lecture;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * 강의 필터용 facet 비트맵. facet 값마다 해당 값을 가진 강의 ordinal 의 BitSet 을 두고, 요청된 필터를 AND 한다.
+ * facet 값은 시간표 등록 때만 바뀌므로 LectureReadModel.Columns 와 함께 만들어지고 평점 변경과는 무관하다.
+ */
+class LectureFacets {
+
+    static final List<String> NAMES = List.of("grade", "lectureType", "point", "evaluateType", "capprType");
+
+    private static final int GRADE = 0;
+    private static final int LECTURE_TYPE = 1;
+    private static final int POINT = 2;
+    private static final int EVALUATE_TYPE = 3;
+    private static final int CAPPR_TYPE = 4;
+
+    private final int size;
+    private final String[][] values;
+    private final int[][] valueIndexes;
+    private final BitSet[][] bitmaps;
+
+    // lectures 는 Columns 와 같은 id 순서
+    LectureFacets(List<Lecture> lectures) {
+        this.size = lectures.size();
+        String[][] raw = new String[NAMES.size()][size];
+        for (int i = 0; i < size; i++) {
+            Lecture lecture = lectures.get(i);
+            raw[GRADE][i] = String.valueOf(lecture.getGrade());
+            raw[LECTURE_TYPE][i] = Objects.toString(lecture.getLectureType(), "");
+            raw[POINT][i] = pointValue(lecture.getPoint());
+            raw[EVALUATE_TYPE][i] = Objects.toString(lecture.getEvaluateType(), "");
+            raw[CAPPR_TYPE][i] = Objects.toString(lecture.getCapprType(), "");
+        }
+
+        this.values = new String[NAMES.size()][];
+        this.valueIndexes = new int[NAMES.size()][size];
+        this.bitmaps = new BitSet[NAMES.size()][];
+        for (int facet = 0; facet < NAMES.size(); facet++) {
+            TreeSet<String> distinct = new TreeSet<>();
+            for (String value : raw[facet]) {
+                distinct.add(value);
+            }
+            values[facet] = distinct.toArray(new String[0]);
+            bitmaps[facet] = new BitSet[values[facet].length];
+            for (int index = 0; index < values[facet].length; index++) {
+                bitmaps[facet][index] = new BitSet(size);
+            }
+            for (int i = 0; i < size; i++) {
+                int index = Arrays.binarySearch(values[facet], raw[facet][i]);
+                valueIndexes[facet][i] = index;
+                bitmaps[facet][index].set(i);
+            }
+        }
+    }
+
+    // 학점 1.0, 1.5 -> "1", "1.5"
+    static String pointValue(double point) {
+        return BigDecimal.valueOf(point).stripTrailingZeros().toPlainString();
+    }
+
+    // 요청된 facet 필터의 교집합. 필터가 없으면 null
+    BitSet filter(LectureFindOption option) {
+        BitSet result = null;
+        result = and(result, GRADE, option.getGrade().map(String::valueOf));
+        result = and(result, LECTURE_TYPE, option.getLectureType());
+        result = and(result, POINT, option.getPoint().map(LectureFacets::pointValue));
+        result = and(result, EVALUATE_TYPE, option.getEvaluateType());
+        result = and(result, CAPPR_TYPE, option.getCapprType());
+        return result;
+    }
+
+    private BitSet and(BitSet result, int facet, Optional<String> value) {
+        if (value.isEmpty() || value.get().isEmpty()) {
+            return result;
+        }
+        int index = Arrays.binarySearch(values[facet], value.get());
+        if (index < 0) {
+            return new BitSet(size);
+        }
+        if (result == null) {
+            return (BitSet) bitmaps[facet][index].clone();
+        }
+        result.and(bitmaps[facet][index]);
+        return result;
+    }
+
+    long[][] newCounts() {
+        long[][] counts = new long[values.length][];
+        for (int facet = 0; facet < values.length; facet++) {
+            counts[facet] = new long[values[facet].length];
+        }
+        return counts;
+    }
+
+    void count(long[][] counts, int ordinal) {
+        for (int facet = 0; facet < counts.length; facet++) {
+            counts[facet][valueIndexes[facet][ordinal]]++;
+        }
+    }
+
+    // facet 이름 -> (값 -> 개수). 값이 비어 있거나 개수가 0 인 항목은 뺀다.
+    Map<String, Map<String, Long>> toMap(long[][] counts) {
+        Map<String, Map<String, Long>> result = new LinkedHashMap<>();
+        for (int facet = 0; facet < counts.length; facet++) {
+            Map<String, Long> valueCounts = new LinkedHashMap<>();
+            for (int index = 0; index < counts[facet].length; index++) {
+                if (counts[facet][index] > 0 && !values[facet][index].isEmpty()) {
+                    valueCounts.put(values[facet][index], counts[facet][index]);
+                }
+            }
+            result.put(NAMES.get(facet), valueCounts);
+        }
+        return result;
+    }
+}
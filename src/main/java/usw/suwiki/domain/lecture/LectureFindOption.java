@@ -3,20 +3,53 @@ package usw.suwiki.domain.lecture;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import usw.suwiki.exception.AccountException;
+import usw.suwiki.exception.ErrorType;
 
+import java.util.List;
 import java.util.Optional;
 
 @Getter
 @NoArgsConstructor
 public class LectureFindOption {
+    public static final String DEFAULT_ORDER_OPTION = "modifiedDate";
+    public static final List<String> ORDER_OPTIONS = List.of("modifiedDate",
+            "lectureSatisfactionAvg",
+            "lectureHoneyAvg",
+            "lectureLearningAvg",
+            "lectureTotalAvg");
+    public static final int PAGE_SIZE = 10;
+    public static final List<String> SLOT_MODES = List.of("fit", "avoid");
+
     private Optional<String> orderOption;
     private Optional<Integer> pageNumber;
     private Optional<String> majorType;
+    private Optional<String> cursor;
+    private Optional<String> semester;
+    private Optional<Integer> grade;
+    private Optional<String> lectureType;
+    private Optional<Double> point;
+    private Optional<String> evaluateType;
+    private Optional<String> capprType;
+    private Optional<String> slots;
+    private Optional<String> slotMode;
 
     @Builder
-    public LectureFindOption(Optional<String> orderOption, Optional<Integer> pageNumber,Optional<String> majorType) {
+    public LectureFindOption(Optional<String> orderOption, Optional<Integer> pageNumber,Optional<String> majorType,
+                             Optional<String> cursor, Optional<String> semester, Optional<Integer> grade,
+                             Optional<String> lectureType, Optional<Double> point, Optional<String> evaluateType,
+                             Optional<String> capprType, Optional<String> slots, Optional<String> slotMode) {
         this.orderOption = orderOption;
         this.pageNumber = pageNumber;
+        this.cursor = cursor == null ? Optional.empty() : cursor;
+        this.semester = semester == null ? Optional.empty() : semester;
+        this.grade = grade == null ? Optional.empty() : grade;
+        this.lectureType = lectureType == null ? Optional.empty() : lectureType;
+        this.point = point == null ? Optional.empty() : point;
+        this.evaluateType = evaluateType == null ? Optional.empty() : evaluateType;
+        this.capprType = capprType == null ? Optional.empty() : capprType;
+        this.slots = slots == null ? Optional.empty() : slots;
+        this.slotMode = slotMode == null ? Optional.empty() : slotMode;
         if(majorType.isEmpty()){
             this.majorType = Optional.of("");
         }else {
@@ -24,4 +57,36 @@ public class LectureFindOption {
         }
     }
 
+    public String validOrderOption() {
+        String option = orderOption.orElse(DEFAULT_ORDER_OPTION);
+        if (!ORDER_OPTIONS.contains(option)) {
+            throw new AccountException(ErrorType.INVALID_ORDER_OPTION);
+        }
+        return option;
+    }
+
+    public int validPageNumber() {
+        return Math.max(pageNumber.orElse(1), 1);
+    }
+
+    // cursor 가 있으면 page 대신 keyset 방식으로 다음 페이지를 찾는다
+    public Optional<LectureCursor> validCursor() {
+        String option = validOrderOption();
+        return cursor.filter(value -> !value.isEmpty()).map(value -> LectureCursor.decode(value, option));
+    }
+
+    // 시간표 검색 조건 ("월1,2 화3,4") 의 비트마스크
+    public Optional<long[]> validSlots() {
+        return slots.filter(value -> !value.isBlank()).map(LectureTimeSlot::parseQuery);
+    }
+
+    // fit: 주어진 시간 안에 들어가는 강의, avoid: 주어진 시간과 겹치지 않는 강의
+    public String validSlotMode() {
+        String mode = slotMode.orElse("fit");
+        if (!SLOT_MODES.contains(mode)) {
+            throw new AccountException(ErrorType.INVALID_SLOT_OPTION);
+        }
+        return mode;
+    }
+
 }
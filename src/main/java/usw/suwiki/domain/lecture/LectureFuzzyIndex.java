@@ -0,0 +1,148 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 오타 검색용 BK-tree. lectureName, professor 를 정규화한 단어를 편집 거리(Levenshtein)로 색인한다.
+ * 검색 결과가 없을 때 거리 제한 안의 "이것을 찾으셨나요" 후보를 한 번의 트리 탐색으로 돌려준다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LectureFuzzyIndex {
+
+    public static final int MAX_CANDIDATES = 5;
+
+    private final LectureReadModel lectureReadModel;
+
+    private volatile Node root;
+    // 정규화 단어 -> 화면에 보여줄 원래 문자열
+    private volatile Map<String, String> texts = new HashMap<>();
+
+    // LectureReadModel 이 먼저 rebuild 된 뒤 같은 컬럼을 기준으로 만든다
+    public void rebuild() {
+        LectureReadModel.Columns columns = lectureReadModel.columns();
+        Map<String, String> terms = new LinkedHashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            addTerm(terms, columns.lectureNames[i]);
+            addTerm(terms, columns.professors[i]);
+        }
+
+        Node tree = null;
+        for (String term : terms.keySet()) {
+            if (tree == null) {
+                tree = new Node(term);
+            } else {
+                tree.add(term);
+            }
+        }
+        this.texts = terms;
+        this.root = tree;
+    }
+
+    // 짧은 검색어일수록 허용 거리를 줄인다 (4자 이하 1, 그 이상 2)
+    public List<String> didYouMean(String searchValue) {
+        String value = LectureSearchIndex.normalize(searchValue);
+        Node tree = root;
+        if (value.isEmpty() || tree == null) {
+            return new ArrayList<>();
+        }
+        int maxDistance = value.length() <= 4 ? 1 : 2;
+
+        List<Candidate> candidates = new ArrayList<>();
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(tree);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            int distance = distance(value, node.term);
+            if (distance <= maxDistance && distance > 0) {
+                candidates.add(new Candidate(node.term, distance));
+            }
+            // 삼각 부등식: 거리가 [d - max, d + max] 인 자식만 후보를 가질 수 있다
+            for (int edge = Math.max(1, distance - maxDistance); edge <= distance + maxDistance; edge++) {
+                Node child = node.children.get(edge);
+                if (child != null) {
+                    stack.push(child);
+                }
+            }
+        }
+
+        candidates.sort(Comparator.comparingInt((Candidate candidate) -> candidate.distance).thenComparing(candidate -> candidate.term));
+        Map<String, String> current = texts;
+        List<String> result = new ArrayList<>();
+        for (Candidate candidate : candidates.subList(0, Math.min(MAX_CANDIDATES, candidates.size()))) {
+            result.add(current.getOrDefault(candidate.term, candidate.term));
+        }
+        return result;
+    }
+
+    private static void addTerm(Map<String, String> terms, String text) {
+        String term = LectureSearchIndex.normalize(text);
+        if (!term.isEmpty()) {
+            terms.putIfAbsent(term, text.trim());
+        }
+    }
+
+    static int distance(String left, String right) {
+        int[] previous = new int[right.length() + 1];
+        int[] current = new int[right.length() + 1];
+        for (int j = 0; j <= right.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= left.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= right.length(); j++) {
+                int cost = left.charAt(i - 1) == right.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[right.length()];
+    }
+
+    private static class Candidate {
+        private final String term;
+        private final int distance;
+
+        private Candidate(String term, int distance) {
+            this.term = term;
+            this.distance = distance;
+        }
+    }
+
+    private static class Node {
+        private final String term;
+        private final Map<Integer, Node> children = new HashMap<>();
+
+        private Node(String term) {
+            this.term = term;
+        }
+
+        private void add(String term) {
+            Node node = this;
+            while (true) {
+                int distance = distance(term, node.term);
+                if (distance == 0) {
+                    return;
+                }
+                Node child = node.children.get(distance);
+                if (child == null) {
+                    node.children.put(distance, new Node(term));
+                    return;
+                }
+                node = child;
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.transaction.Transactional;
+import java.util.List;
+
+// 메모리 강의 색인들의 생성/갱신 진입점 (서버 시작, 시간표 Json 등록, 평점 변경)
+@Component
+@RequiredArgsConstructor
+public class LectureIndexManager {
+
+    private final LectureRepository lectureRepository;
+    private final LectureReadModel lectureReadModel;
+    private final LectureSearchIndex lectureSearchIndex;
+    private final LectureChosungIndex lectureChosungIndex;
+    private final LectureSuggestIndex lectureSuggestIndex;
+    private final LectureLeaderboard lectureLeaderboard;
+    private final LectureFuzzyIndex lectureFuzzyIndex;
+    private final LectureRelations lectureRelations;
+    private final LectureQueryLog lectureQueryLog;
+    private final LectureCountCache lectureCountCache;
+    private final MajorTypeCatalog majorTypeCatalog;
+
+    // 다른 트랜잭션의 afterCommit 에서도 불리므로 항상 새 트랜잭션에서 읽는다
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Lecture> lectures = lectureRepository.findAll();
+        lectureReadModel.rebuild(lectures);
+        lectureSearchIndex.rebuild();
+        lectureChosungIndex.rebuild();
+        lectureSuggestIndex.rebuild();
+        lectureLeaderboard.rebuild();
+        lectureFuzzyIndex.rebuild();
+        lectureRelations.rebuild();
+        majorTypeCatalog.rebuild();
+        lectureCountCache.invalidateAll();
+        lectureQueryLog.invalidateWarm();
+    }
+
+    // 평점 변경은 커밋된 뒤에 반영해 롤백된 값이 색인에 남지 않게 한다
+    // 한 번의 반영에서 바뀐 강의들은 읽기 모델에 한 번에 반영한다
+    public void update(List<Lecture> lectures) {
+        if (lectures.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(lectures);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(lectures);
+            }
+        });
+    }
+
+    private void apply(List<Lecture> lectures) {
+        lectureReadModel.update(lectures);
+        for (Lecture lecture : lectures) {
+            lectureLeaderboard.update(lecture.getId());
+            lectureQueryLog.invalidateWarm(lecture);
+        }
+        lectureRelations.markDirty();
+        lectureSuggestIndex.markDirty();
+    }
+}
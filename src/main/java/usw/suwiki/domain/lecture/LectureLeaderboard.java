@@ -0,0 +1,160 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import usw.suwiki.exception.AccountException;
+import usw.suwiki.exception.ErrorType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 학과별 / 전체 평점 순위표. (학과, 지표) 마다 skip list 를 두고 평점이 바뀐 강의만 O(log n) 으로 옮긴다.
+ * 조회는 skip list 앞에서부터 n 개만 읽는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LectureLeaderboard {
+
+    public static final List<String> METRICS = List.of("satisfaction", "honey", "learning", "total");
+    public static final int DEFAULT_SIZE = 10;
+    public static final int MAX_SIZE = 100;
+
+    private static final Comparator<Entry> RANK = Comparator.comparingDouble((Entry entry) -> entry.value).reversed()
+            .thenComparing(Comparator.comparingLong((Entry entry) -> entry.id).reversed());
+
+    private final LectureReadModel lectureReadModel;
+
+    private volatile Board board = new Board(null);
+
+    // LectureReadModel 이 먼저 rebuild 된 뒤 같은 컬럼을 기준으로 만든다
+    public void rebuild() {
+        this.board = new Board(lectureReadModel.columns());
+    }
+
+    // LectureReadModel.update 이후 호출되어 컬럼의 새 평점으로 위치를 옮긴다
+    public void update(Long lectureId) {
+        board.update(lectureId);
+    }
+
+    public List<LectureResponseDto> top(String majorType, String metric, int size) {
+        int metricIndex = METRICS.indexOf(metric);
+        if (metricIndex < 0) {
+            throw new AccountException(ErrorType.INVALID_ORDER_OPTION);
+        }
+        Board current = board;
+        List<LectureResponseDto> result = new ArrayList<>();
+        ConcurrentSkipListSet<Entry> ranking = current.ranking(majorType, metricIndex);
+        if (ranking == null) {
+            return result;
+        }
+        int limit = Math.max(1, Math.min(size, MAX_SIZE));
+        for (Entry entry : ranking) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(current.columns.toResponseDto(entry.ordinal));
+        }
+        return result;
+    }
+
+    private static class Entry {
+        private final float value;
+        private final long id;
+        private final int ordinal;
+
+        private Entry(float value, long id, int ordinal) {
+            this.value = value;
+            this.id = id;
+            this.ordinal = ordinal;
+        }
+    }
+
+    private static class Board {
+        private final LectureReadModel.Columns columns;
+        // [metric][ordinal] 순위표에 들어가 있는 값
+        private final float[][] values;
+        private final List<ConcurrentSkipListSet<Entry>> overall = new ArrayList<>();
+        private final List<List<ConcurrentSkipListSet<Entry>>> byMajor = new ArrayList<>();
+
+        private Board(LectureReadModel.Columns columns) {
+            this.columns = columns;
+            int size = columns == null ? 0 : columns.size();
+            this.values = new float[METRICS.size()][size];
+            if (columns == null) {
+                return;
+            }
+            LectureReadModel.Values current = columns.values();
+            for (int major = 0; major < columns.majors.length; major++) {
+                List<ConcurrentSkipListSet<Entry>> rankings = new ArrayList<>();
+                for (int metric = 0; metric < METRICS.size(); metric++) {
+                    rankings.add(new ConcurrentSkipListSet<>(RANK));
+                }
+                byMajor.add(rankings);
+            }
+            for (int metric = 0; metric < METRICS.size(); metric++) {
+                overall.add(new ConcurrentSkipListSet<>(RANK));
+                for (int ordinal = 0; ordinal < size; ordinal++) {
+                    values[metric][ordinal] = value(current, metric, ordinal);
+                    Entry entry = new Entry(values[metric][ordinal], columns.ids[ordinal], ordinal);
+                    overall.get(metric).add(entry);
+                    byMajor.get(columns.majorIndexes[ordinal]).get(metric).add(entry);
+                }
+            }
+        }
+
+        private ConcurrentSkipListSet<Entry> ranking(String majorType, int metric) {
+            if (columns == null) {
+                return null;
+            }
+            if (majorType.isEmpty()) {
+                return overall.get(metric);
+            }
+            int major = columns.majorIndexOf(majorType);
+            return major < 0 ? null : byMajor.get(major).get(metric);
+        }
+
+        private float value(LectureReadModel.Values current, int metric, int ordinal) {
+            switch (metric) {
+                case 0:
+                    return current.lectureSatisfactionAvg[ordinal];
+                case 1:
+                    return current.lectureHoneyAvg[ordinal];
+                case 2:
+                    return current.lectureLearningAvg[ordinal];
+                default:
+                    return current.lectureTotalAvg[ordinal];
+            }
+        }
+
+        // 같은 강의의 이전 항목을 빼고 새 값으로 다시 넣는다 (skip list 삽입/삭제 O(log n))
+        private synchronized void update(Long lectureId) {
+            if (columns == null) {
+                return;
+            }
+            int ordinal = columns.ordinalOf(lectureId);
+            if (ordinal < 0) {
+                return;
+            }
+            long id = columns.ids[ordinal];
+            int major = columns.majorIndexes[ordinal];
+            LectureReadModel.Values current = columns.values();
+            for (int metric = 0; metric < METRICS.size(); metric++) {
+                float value = value(current, metric, ordinal);
+                if (Float.compare(value, values[metric][ordinal]) == 0) {
+                    continue;
+                }
+                Entry previous = new Entry(values[metric][ordinal], id, ordinal);
+                Entry next = new Entry(value, id, ordinal);
+                // 새 항목을 먼저 넣어 조회 중에 강의가 빠져 보이지 않게 한다
+                overall.get(metric).add(next);
+                overall.get(metric).remove(previous);
+                byMajor.get(major).get(metric).add(next);
+                byMajor.get(major).get(metric).remove(previous);
+                values[metric][ordinal] = value;
+            }
+        }
+    }
+}
@@ -2,20 +2,27 @@ package usw.suwiki.domain.lecture;
 
 import lombok.Builder;
 import lombok.Getter;
-import usw.suwiki.domain.lecture.Lecture;
 
 import java.util.List;
+import java.util.Map;
 
 @Getter
 public class LectureListAndCountDto {
 
-    List<Lecture> lectureList;
+    List<LectureResponseDto> lectureList;
     Long count;
+    String nextCursor;
+    boolean countCached;
+    Map<String, Map<String, Long>> facets;
 
     @Builder
-    public LectureListAndCountDto(List<Lecture> lectureList, Long count) {
+    public LectureListAndCountDto(List<LectureResponseDto> lectureList, Long count, String nextCursor, boolean countCached,
+                                  Map<String, Map<String, Long>> facets) {
         this.lectureList = lectureList;
         this.count = count;
+        this.nextCursor = nextCursor;
+        this.countCached = countCached;
+        this.facets = facets;
     }
 
 }
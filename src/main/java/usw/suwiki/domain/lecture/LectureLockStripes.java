@@ -0,0 +1,101 @@
+package usw.suwiki.domain.lecture;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * lectureId 해시로 나눈 잠금 묶음. 같은 강의(정확히는 같은 stripe)의 강의평가 쓰기만 서로 기다린다.
+ * 잠금은 현재 트랜잭션이 끝날 때(커밋/롤백) 풀린다. 여러 강의를 잠글 때는 stripe 번호 순으로 잡아 교착을 막는다.
+ * 그래서 한 트랜잭션에서 필요한 강의는 쓰기 전에 한 번에 잠가야 한다. 이미 잡은 stripe 는 건너뛰고,
+ * 이미 잡은 것보다 앞 번호의 stripe 를 나중에 잡으려 하면 순서가 깨지므로 IllegalStateException 을 던진다.
+ * 대기 시간은 lecture.lock.wait 타이머, 바로 잡지 못한 횟수는 lecture.lock.contended 카운터로 노출된다.
+ */
+@Component
+public class LectureLockStripes {
+
+    private final ReentrantLock[] locks;
+    private final Timer waitTimer;
+    private final Counter contended;
+
+    public LectureLockStripes(@Value("${suwiki.lecture.lock-stripes:64}") int stripes, MeterRegistry meterRegistry) {
+        this.locks = new ReentrantLock[Math.max(1, stripes)];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.waitTimer = Timer.builder("lecture.lock.wait")
+                .description("강의평가 쓰기 잠금 대기 시간")
+                .register(meterRegistry);
+        this.contended = Counter.builder("lecture.lock.contended")
+                .description("다른 요청이 잡고 있어 기다린 잠금 횟수")
+                .register(meterRegistry);
+    }
+
+    public void lockForTransaction(Long lectureId) {
+        lockForTransaction(Collections.singletonList(lectureId));
+    }
+
+    public void lockForTransaction(Collection<Long> lectureIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("강의 잠금은 트랜잭션 안에서만 잡을 수 있습니다");
+        }
+        TreeSet<Integer> stripes = new TreeSet<>();
+        for (Long lectureId : lectureIds) {
+            if (lectureId != null) {
+                stripes.add(Math.floorMod(lectureId.hashCode(), locks.length));
+            }
+        }
+        TreeSet<Integer> held = heldStripes();
+        stripes.removeAll(held);
+        if (!stripes.isEmpty() && !held.isEmpty() && stripes.first() < held.last()) {
+            throw new IllegalStateException("강의 잠금 순서가 어긋납니다. 필요한 강의를 트랜잭션 처음에 한 번에 잠가야 합니다");
+        }
+        for (int stripe : stripes) {
+            lock(locks[stripe]);
+            held.add(stripe);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    locks[stripe].unlock();
+                }
+            });
+        }
+    }
+
+    // 현재 트랜잭션이 잡고 있는 stripe 번호
+    @SuppressWarnings("unchecked")
+    private TreeSet<Integer> heldStripes() {
+        TreeSet<Integer> held = (TreeSet<Integer>) TransactionSynchronizationManager.getResource(this);
+        if (held == null) {
+            held = new TreeSet<>();
+            TransactionSynchronizationManager.bindResource(this, held);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(LectureLockStripes.this);
+                }
+            });
+        }
+        return held;
+    }
+
+    private void lock(ReentrantLock lock) {
+        if (lock.tryLock()) {
+            return;
+        }
+        contended.increment();
+        long start = System.nanoTime();
+        lock.lock();
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
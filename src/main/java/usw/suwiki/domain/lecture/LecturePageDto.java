@@ -0,0 +1,19 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.Getter;
+import usw.suwiki.domain.evaluation.FindByLectureToJson;
+import usw.suwiki.domain.exam.FindByLectureToExam;
+
+// 강의 화면 한 번에 필요한 강의 상세 + 강의평가 페이지 + 시험정보
+@Getter
+public class LecturePageDto {
+    private LectureDetailResponseDto lecture;
+    private FindByLectureToJson evaluatePosts;
+    private FindByLectureToExam examPosts;
+
+    public LecturePageDto(LectureDetailResponseDto lecture, FindByLectureToJson evaluatePosts, FindByLectureToExam examPosts) {
+        this.lecture = lecture;
+        this.evaluatePosts = evaluatePosts;
+        this.examPosts = examPosts;
+    }
+}
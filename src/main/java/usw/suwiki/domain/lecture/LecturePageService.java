@@ -0,0 +1,55 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import usw.suwiki.domain.evaluation.EvaluatePostsService;
+import usw.suwiki.domain.evaluation.EvaluateResponseByLectureIdDto;
+import usw.suwiki.domain.evaluation.FindByLectureToJson;
+import usw.suwiki.domain.exam.ExamPostsService;
+import usw.suwiki.domain.exam.ExamResponseByLectureIdDto;
+import usw.suwiki.domain.exam.FindByLectureToExam;
+import usw.suwiki.domain.viewExam.ViewExamService;
+import usw.suwiki.global.PageOption;
+
+import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * GET /lecture, /evaluate-posts, /exam-posts 를 하나의 트랜잭션으로 묶는다.
+ * 각 응답의 isWritten / isExamDataExist / 구매 여부 규칙은 기존 컨트롤러와 같다.
+ */
+@Service
+@RequiredArgsConstructor
+public class LecturePageService {
+
+    private final LectureService lectureService;
+    private final EvaluatePostsService evaluatePostsService;
+    private final ExamPostsService examPostsService;
+    private final ViewExamService viewExamService;
+
+    @Transactional
+    public LecturePageDto findLecturePage(Long lectureId, Long userIdx, Optional<Integer> page) {
+        LectureDetailResponseDto lecture = lectureService.findByIdDetail(lectureId);
+
+        List<EvaluateResponseByLectureIdDto> evaluateList = evaluatePostsService.findEvaluatePostsByLectureId(new PageOption(page), lectureId);
+        FindByLectureToJson evaluatePosts = new FindByLectureToJson(evaluateList);
+        if (evaluatePostsService.verifyWriteEvaluatePosts(userIdx, lectureId)) {
+            evaluatePosts.setWritten(false);
+        }
+
+        List<ExamResponseByLectureIdDto> examList = examPostsService.findExamPostsByLectureId(new PageOption(Optional.empty()), lectureId);
+        FindByLectureToExam examPosts = new FindByLectureToExam(examList);
+        if (examPostsService.verifyWriteExamPosts(userIdx, lectureId)) {
+            examPosts.setWritten(false);
+        }
+        if (examList.isEmpty()) {
+            examPosts.setExamDataExist(false);
+        } else if (!viewExamService.verifyAuth(lectureId, userIdx)) {
+            examPosts.setData(new ArrayList<>());
+        }
+
+        return new LecturePageDto(lecture, evaluatePosts, examPosts);
+    }
+}
@@ -0,0 +1,185 @@
+package usw.suwiki.domain.lecture;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import usw.suwiki.exception.AccountException;
+import usw.suwiki.exception.ErrorType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import static usw.suwiki.domain.lecture.QLecture.lecture;
+
+/**
+ * 강의 목록/검색 QueryDSL 쿼리.
+ * 정렬 컬럼을 문자열로 이어 붙이지 않아 조건 조합마다 같은 쿼리 플랜을 재사용하고, 목록에 필요한 10개 컬럼만 DTO 로 조회한다.
+ * 읽기 모델/색인이 준비되기 전에만 쓰이며, 시간표(slots) 조건은 지원하지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LectureQueryEngine {
+
+    private static final ConstructorExpression<LectureResponseDto> RESPONSE_DTO = Projections.constructor(LectureResponseDto.class,
+            lecture.id,
+            lecture.semesterList,
+            lecture.professor,
+            lecture.lectureType,
+            lecture.lectureName,
+            lecture.majorType,
+            lecture.lectureTotalAvg,
+            lecture.lectureSatisfactionAvg,
+            lecture.lectureHoneyAvg,
+            lecture.lectureLearningAvg);
+
+    private final JPAQueryFactory queryFactory;
+    private final LectureCountCache lectureCountCache;
+
+    public LectureListAndCountDto findLectureList(String searchValue, LectureFindOption option) {
+        // 시간표 비트마스크는 DB 에 없어 조건으로 걸 수 없다. 색인이 준비되기 전에는 거르지 않은 결과 대신 503
+        if (option.validSlots().isPresent()) {
+            throw new AccountException(ErrorType.SLOT_OPTION_NOT_READY);
+        }
+        long generation = lectureCountCache.generation();
+        String orderOption = option.validOrderOption();
+        ComparableExpressionBase<?> orderPath = orderPath(orderOption);
+        Optional<LectureCursor> cursor = option.validCursor();
+        BooleanExpression[] conditions = {
+                majorTypeEq(option.getMajorType().orElse("")),
+                searchValueContains(searchValue),
+                semesterEq(option.getSemester()),
+                gradeEq(option.getGrade()),
+                lectureTypeEq(option.getLectureType()),
+                pointEq(option.getPoint()),
+                evaluateTypeEq(option.getEvaluateType()),
+                capprTypeEq(option.getCapprType())
+        };
+
+        JPAQuery<Tuple> query = queryFactory.select(RESPONSE_DTO, orderPath)
+                .from(lecture)
+                .where(conditions)
+                .where(cursor.map(this::seek).orElse(null))
+                .orderBy(orderPath.desc(), lecture.id.desc())
+                .limit(LectureFindOption.PAGE_SIZE);
+        if (cursor.isEmpty()) {
+            query.offset((long) (option.validPageNumber() - 1) * LectureFindOption.PAGE_SIZE);
+        }
+        List<Tuple> tuples = query.fetch();
+
+        List<LectureResponseDto> lectureList = new ArrayList<>();
+        for (Tuple tuple : tuples) {
+            lectureList.add(tuple.get(RESPONSE_DTO));
+        }
+
+        String nextCursor = null;
+        if (tuples.size() == LectureFindOption.PAGE_SIZE) {
+            Tuple last = tuples.get(tuples.size() - 1);
+            nextCursor = LectureCursor.of(orderOption, last.get(orderPath), last.get(RESPONSE_DTO).getId()).encode();
+        }
+
+        // 개수는 평점 변경과 무관하므로 캐시된 값이 있으면 COUNT 쿼리를 생략
+        String countKey = LectureCountCache.key(searchValue, option);
+        Long count = lectureCountCache.get(countKey);
+        boolean countCached = count != null;
+        if (!countCached) {
+            count = queryFactory.select(lecture.count())
+                    .from(lecture)
+                    .where(conditions)
+                    .fetchOne();
+            lectureCountCache.put(countKey, generation, count);
+        }
+
+        return LectureListAndCountDto.builder().lectureList(lectureList).count(count)
+                .nextCursor(nextCursor).countCached(countCached).build();
+    }
+
+    private ComparableExpressionBase<?> orderPath(String orderOption) {
+        switch (orderOption) {
+            case "lectureSatisfactionAvg":
+                return lecture.lectureSatisfactionAvg;
+            case "lectureHoneyAvg":
+                return lecture.lectureHoneyAvg;
+            case "lectureLearningAvg":
+                return lecture.lectureLearningAvg;
+            case "lectureTotalAvg":
+                return lecture.lectureTotalAvg;
+            default:
+                return lecture.modifiedDate;
+        }
+    }
+
+    // (정렬 값, id) 가 cursor 보다 뒤에 오는 행 (keyset)
+    private BooleanExpression seek(LectureCursor cursor) {
+        // modifiedDate 가 없는 강의는 내림차순 맨 뒤에 온다
+        if (cursor.isModifiedDateOrder()) {
+            LocalDateTime modifiedDate = cursor.getModifiedDate();
+            if (modifiedDate == null) {
+                return lecture.modifiedDate.isNull().and(lecture.id.lt(cursor.getId()));
+            }
+            return lecture.modifiedDate.lt(modifiedDate)
+                    .or(lecture.modifiedDate.eq(modifiedDate).and(lecture.id.lt(cursor.getId())))
+                    .or(lecture.modifiedDate.isNull());
+        }
+        float value = (float) cursor.getOrderValue();
+        switch (cursor.getOrderOption()) {
+            case "lectureSatisfactionAvg":
+                return lecture.lectureSatisfactionAvg.lt(value)
+                        .or(lecture.lectureSatisfactionAvg.eq(value).and(lecture.id.lt(cursor.getId())));
+            case "lectureHoneyAvg":
+                return lecture.lectureHoneyAvg.lt(value)
+                        .or(lecture.lectureHoneyAvg.eq(value).and(lecture.id.lt(cursor.getId())));
+            case "lectureLearningAvg":
+                return lecture.lectureLearningAvg.lt(value)
+                        .or(lecture.lectureLearningAvg.eq(value).and(lecture.id.lt(cursor.getId())));
+            default:
+                return lecture.lectureTotalAvg.lt(value)
+                        .or(lecture.lectureTotalAvg.eq(value).and(lecture.id.lt(cursor.getId())));
+        }
+    }
+
+    private BooleanExpression majorTypeEq(String majorType) {
+        return majorType.isEmpty() ? null : lecture.majorType.eq(majorType);
+    }
+
+    private BooleanExpression searchValueContains(String searchValue) {
+        if (searchValue == null || searchValue.isEmpty()) {
+            return null;
+        }
+        String value = searchValue.toUpperCase(Locale.ROOT);
+        return lecture.lectureName.contains(value).or(lecture.professor.contains(value));
+    }
+
+    // lecture_semester 조인 테이블 기준
+    private BooleanExpression semesterEq(Optional<String> semester) {
+        return semester.filter(value -> !value.isEmpty()).map(lecture.semesters::contains).orElse(null);
+    }
+
+    private BooleanExpression gradeEq(Optional<Integer> grade) {
+        return grade.map(lecture.grade::eq).orElse(null);
+    }
+
+    private BooleanExpression lectureTypeEq(Optional<String> lectureType) {
+        return lectureType.filter(value -> !value.isEmpty()).map(lecture.lectureType::eq).orElse(null);
+    }
+
+    private BooleanExpression pointEq(Optional<Double> point) {
+        return point.map(lecture.point::eq).orElse(null);
+    }
+
+    private BooleanExpression evaluateTypeEq(Optional<String> evaluateType) {
+        return evaluateType.filter(value -> !value.isEmpty()).map(lecture.evaluateType::eq).orElse(null);
+    }
+
+    private BooleanExpression capprTypeEq(Optional<String> capprType) {
+        return capprType.filter(value -> !value.isEmpty()).map(lecture.capprType::eq).orElse(null);
+    }
+}
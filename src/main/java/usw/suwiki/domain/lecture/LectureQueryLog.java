@@ -0,0 +1,162 @@
+package usw.suwiki.domain.lecture;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 강의 검색어 로그.
+ * 요청 스레드는 lock 없이 ring buffer 에 검색어를 쓰기만 하고, 스케줄러가 주기적으로 비워 빈도표에 합친다.
+ * 빈도표 상위 검색어는 인기 검색어 조회와 첫 페이지 미리 계산(LectureSearchWarmer)에 쓰인다.
+ */
+@Component
+public class LectureQueryLog {
+
+    public static final int TOP_SIZE = 30;
+
+    private static final int CAPACITY = 1 << 12;
+    private static final int MAX_LENGTH = 50;
+    // 매 분 빈도에 곱해 학기가 바뀌면 예전 검색어가 자연히 밀려나게 한다
+    private static final double DECAY = 0.98;
+
+    private final AtomicReferenceArray<String> buffer = new AtomicReferenceArray<>(CAPACITY);
+    // 칸마다 마지막으로 다 쓴 sequence + 1. 자리만 잡고 아직 쓰지 않은 칸을 구분한다
+    private final AtomicLongArray published = new AtomicLongArray(CAPACITY);
+    private final AtomicLong writeSequence = new AtomicLong();
+    private long readSequence;
+
+    private final Map<String, Double> frequencies = new HashMap<>();
+    private volatile List<PopularSearchDto> popular = new ArrayList<>();
+
+    // 미리 계산된 첫 페이지 (LectureSearchFlight.key -> 검색어와 결과)
+    // 키에 검색 조건이 모두 들어가므로 기본 조건(전체 학과, 최신순, 1페이지) 요청만 여기서 찾고 나머지는 그대로 검색한다
+    // 인기 검색어가 바뀔 때마다 상위 TOP_SIZE 에서 빠진 검색어의 결과는 버린다
+    private final Map<String, Warm> warm = new ConcurrentHashMap<>();
+
+    // 버퍼가 가득 차면 가장 오래된 검색어를 덮어쓴다
+    public void record(String searchValue) {
+        String value = LectureSearchIndex.normalize(searchValue);
+        if (value.isEmpty() || value.length() > MAX_LENGTH) {
+            return;
+        }
+        long sequence = writeSequence.getAndIncrement();
+        int slot = (int) (sequence & (CAPACITY - 1));
+        buffer.set(slot, value);
+        published.set(slot, sequence + 1);
+    }
+
+    @Scheduled(cron = "* * * * * *")
+    public synchronized void flush() {
+        long end = writeSequence.get();
+        if (end - readSequence > CAPACITY) {
+            readSequence = end - CAPACITY;
+        }
+        boolean changed = false;
+        for (; readSequence < end; readSequence++) {
+            int slot = (int) (readSequence & (CAPACITY - 1));
+            long written = published.get(slot);
+            // 자리를 잡았지만 아직 쓰지 않은 칸부터는 다음 주기에 다시 읽는다
+            if (written <= readSequence) {
+                break;
+            }
+            // 한 바퀴 뒤의 검색어가 덮어쓴 칸은 그 sequence 에서 읽는다
+            if (written > readSequence + 1) {
+                continue;
+            }
+            String value = buffer.getAndSet(slot, null);
+            if (value != null) {
+                frequencies.merge(value, 1.0, Double::sum);
+                changed = true;
+            }
+        }
+        if (changed) {
+            updatePopular();
+        }
+    }
+
+    @Scheduled(cron = "0 * * * * *")
+    public synchronized void decay() {
+        frequencies.replaceAll((value, frequency) -> frequency * DECAY);
+        frequencies.values().removeIf(frequency -> frequency < 0.5);
+        updatePopular();
+    }
+
+    private void updatePopular() {
+        List<PopularSearchDto> current = top(TOP_SIZE);
+        this.popular = current;
+        Set<String> values = new HashSet<>();
+        for (PopularSearchDto dto : current) {
+            values.add(dto.getSearchValue());
+        }
+        warm.values().removeIf(entry -> !values.contains(entry.source));
+    }
+
+    public List<PopularSearchDto> getPopular(int size) {
+        List<PopularSearchDto> current = popular;
+        return new ArrayList<>(current.subList(0, Math.max(0, Math.min(size, current.size()))));
+    }
+
+    public LectureListAndCountDto getWarm(String key) {
+        Warm entry = warm.get(key);
+        return entry == null ? null : entry.dto;
+    }
+
+    public void putWarm(String key, String searchValue, LectureListAndCountDto dto) {
+        warm.put(key, new Warm(searchValue, dto));
+    }
+
+    // 강의가 새로 등록되면 미리 계산한 결과를 모두 버리고 다음 주기에 다시 채운다
+    public void invalidateWarm() {
+        warm.clear();
+    }
+
+    // 평점이 바뀐 강의는 최신순 첫 페이지 맨 앞으로 오므로 그 강의가 검색되는 검색어의 결과만 버린다
+    public void invalidateWarm(Lecture lecture) {
+        warm.values().removeIf(entry -> entry.matches(lecture));
+    }
+
+    private static class Warm {
+        // 빈도표와 같은 규칙으로 정규화한 검색어
+        private final String source;
+        private final String searchValue;
+        private final boolean chosung;
+        private final LectureListAndCountDto dto;
+
+        private Warm(String searchValue, LectureListAndCountDto dto) {
+            this.source = LectureSearchIndex.normalize(searchValue);
+            this.chosung = LectureChosungIndex.isChosung(searchValue);
+            this.searchValue = chosung ? LectureChosungIndex.toChosung(searchValue) : LectureSearchIndex.normalize(searchValue);
+            this.dto = dto;
+        }
+
+        // 검색 색인과 같은 규칙으로 강의명 / 교수명에 검색어가 들어 있는지 본다
+        private boolean matches(Lecture lecture) {
+            if (chosung) {
+                return LectureChosungIndex.toChosung(lecture.getLectureName()).contains(searchValue)
+                        || LectureChosungIndex.toChosung(lecture.getProfessor()).contains(searchValue);
+            }
+            return LectureSearchIndex.normalize(lecture.getLectureName()).contains(searchValue)
+                    || LectureSearchIndex.normalize(lecture.getProfessor()).contains(searchValue);
+        }
+    }
+
+    private List<PopularSearchDto> top(int size) {
+        List<Map.Entry<String, Double>> entries = new ArrayList<>(frequencies.entrySet());
+        entries.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+        List<PopularSearchDto> result = new ArrayList<>();
+        for (Map.Entry<String, Double> entry : entries.subList(0, Math.min(size, entries.size()))) {
+            result.add(new PopularSearchDto(entry.getKey(), Math.round(entry.getValue())));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,58 @@
+package usw.suwiki.domain.lecture;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 커밋된 평점 변화량을 강의별로 모아 두는 곳. lectureId 해시로 나눈 stripe 마다 따로 잠가
+ * 서로 다른 강의의 평가는 기다리지 않는다. LectureRatingFlusher 가 주기적으로 비워 강의 행에 한 번에 반영한다.
+ * 반영할 때 대기 행 단위로 지운 결과를 확인해야 하므로 합치지 않고 변화량을 그대로 들고 있는다.
+ */
+@Component
+public class LectureRatingAggregator {
+
+    private static final int STRIPES = 16;
+
+    private final List<Map<Long, List<LectureRatingDelta>>> stripes = new ArrayList<>();
+
+    public LectureRatingAggregator() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes.add(new HashMap<>());
+        }
+    }
+
+    public void record(LectureRatingDelta delta) {
+        Map<Long, List<LectureRatingDelta>> stripe = stripe(delta.getLectureId());
+        synchronized (stripe) {
+            stripe.computeIfAbsent(delta.getLectureId(), lectureId -> new ArrayList<>()).add(delta);
+        }
+    }
+
+    // 쌓인 변화량을 모두 꺼낸다. 반영에 실패하면 requeue 로 되돌린다
+    public List<LectureRatingDelta> drain() {
+        List<LectureRatingDelta> result = new ArrayList<>();
+        for (Map<Long, List<LectureRatingDelta>> stripe : stripes) {
+            synchronized (stripe) {
+                for (List<LectureRatingDelta> deltas : stripe.values()) {
+                    result.addAll(deltas);
+                }
+                stripe.clear();
+            }
+        }
+        return result;
+    }
+
+    public void requeue(List<LectureRatingDelta> deltas) {
+        for (LectureRatingDelta delta : deltas) {
+            record(delta);
+        }
+    }
+
+    private Map<Long, List<LectureRatingDelta>> stripe(Long lectureId) {
+        return stripes.get(Math.floorMod(lectureId.hashCode(), STRIPES));
+    }
+}
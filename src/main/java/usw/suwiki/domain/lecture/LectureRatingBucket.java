@@ -0,0 +1,26 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+// 강의 평점 분포의 구간 하나 (bucket 은 LectureRatingHistogram 의 index). 평가 수는 평점 반영 시 SQL 로 더한다
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"lecture_id", "bucket"}))
+public class LectureRatingBucket {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long lectureId;
+    private int bucket;
+    private int postsCount;
+}
@@ -0,0 +1,88 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import usw.suwiki.domain.evaluation.EvaluatePostsToLecture;
+import usw.suwiki.global.BaseTimeEntity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+
+/**
+ * 아직 강의에 반영되지 않은 평점 변화량. 강의평가와 같은 트랜잭션에 저장되고, 강의 행에 반영된 뒤 지워진다.
+ * 서버가 반영 전에 내려가도 남아 있는 행으로 다시 반영할 수 있다.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+public class LectureRatingDelta extends BaseTimeEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long lectureId;
+
+    private float lectureSatisfactionValue;
+    private float lectureHoneyValue;
+    private float lectureLearningValue;
+    private float lectureTeamValue;
+    private float lectureDifficultyValue;
+    private float lectureHomeworkValue;
+    private int postsCount;
+
+    // LectureRatingHistogram 구간별 평가 수 변화 (pack 형식)
+    @Column(length = 512)
+    private String histogram;
+
+    public LectureRatingDelta(Long lectureId) {
+        this.lectureId = lectureId;
+    }
+
+    // 평가 하나를 더하면 sign = 1, 빼면 sign = -1
+    public static LectureRatingDelta of(EvaluatePostsToLecture dto, int sign) {
+        LectureRatingDelta delta = new LectureRatingDelta(dto.getLectureId());
+        delta.lectureSatisfactionValue = sign * dto.getLectureSatisfaction();
+        delta.lectureHoneyValue = sign * dto.getLectureHoney();
+        delta.lectureLearningValue = sign * dto.getLectureLearning();
+        delta.lectureTeamValue = sign * dto.getLectureTeam();
+        delta.lectureDifficultyValue = sign * dto.getLectureDifficulty();
+        delta.lectureHomeworkValue = sign * dto.getLectureHomework();
+        delta.postsCount = sign;
+        int[] histogram = new int[LectureRatingHistogram.SIZE];
+        for (int index : LectureRatingHistogram.indexesOf(dto)) {
+            histogram[index] += sign;
+        }
+        delta.histogram = LectureRatingHistogram.pack(histogram);
+        return delta;
+    }
+
+    // 평가 수정은 이전 값을 빼고 새 값을 더한 변화량 하나로 남긴다
+    public static LectureRatingDelta change(EvaluatePostsToLecture before, EvaluatePostsToLecture after) {
+        LectureRatingDelta delta = of(after, 1);
+        delta.add(of(before, -1));
+        return delta;
+    }
+
+    public void add(LectureRatingDelta other) {
+        this.lectureSatisfactionValue += other.lectureSatisfactionValue;
+        this.lectureHoneyValue += other.lectureHoneyValue;
+        this.lectureLearningValue += other.lectureLearningValue;
+        this.lectureTeamValue += other.lectureTeamValue;
+        this.lectureDifficultyValue += other.lectureDifficultyValue;
+        this.lectureHomeworkValue += other.lectureHomeworkValue;
+        this.postsCount += other.postsCount;
+        int[] histogram = getHistogramCounts();
+        int[] otherHistogram = other.getHistogramCounts();
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] += otherHistogram[i];
+        }
+        this.histogram = LectureRatingHistogram.pack(histogram);
+    }
+
+    public int[] getHistogramCounts() {
+        return LectureRatingHistogram.unpack(histogram);
+    }
+}
@@ -0,0 +1,14 @@
+package usw.suwiki.domain.lecture;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface LectureRatingDeltaRepository {
+
+    void save(LectureRatingDelta delta);
+
+    List<LectureRatingDelta> findAllCreatedBefore(LocalDateTime dateTime);
+
+    // 실제로 지운 행의 id. 다른 서버가 먼저 지웠거나 지우는 중인 행은 빠진다
+    List<Long> deleteAllByIds(List<Long> ids);
+}
@@ -0,0 +1,68 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 집계기에 쌓인 평점 변화량을 300ms 마다 강의 행에 반영한다. 서버 시작 시와 1분마다 남겨진 대기 행도 반영한다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LectureRatingFlusher {
+
+    private final LectureRatingAggregator lectureRatingAggregator;
+    private final LectureService lectureService;
+
+    // 이 시간보다 오래 남은 대기 행은 만든 서버가 죽은 것으로 보고 다른 서버가 가져간다
+    private static final long ORPHAN_MINUTES = 5;
+
+    // 이 시각 이후의 대기 행은 이 서버가 직접 반영하므로 시작 시 복구 대상에서 뺀다
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void replay() {
+        try {
+            lectureService.replayRatingDeltas(startedAt);
+        } catch (Exception e) {
+            log.error("평점 대기 행 복구 실패", e);
+        }
+    }
+
+    // 다른 서버가 반영하지 못하고 죽으면 그 서버가 재시작할 때까지 기다리지 않는다
+    // 행을 지운 쪽만 반영하므로 살아 있는 서버의 늦은 행을 가져와도 두 번 반영되지 않는다
+    @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+    public void replayOrphans() {
+        try {
+            lectureService.replayRatingDeltas(LocalDateTime.now().minusMinutes(ORPHAN_MINUTES));
+        } catch (Exception e) {
+            log.error("남겨진 평점 대기 행 반영 실패", e);
+        }
+    }
+
+    @Scheduled(fixedDelay = 300)
+    public synchronized void flush() {
+        List<LectureRatingDelta> deltas = lectureRatingAggregator.drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            lectureService.applyRatingDeltas(deltas);
+        } catch (Exception e) {
+            // 롤백되어 대기 행이 그대로 남아 있으므로 다음 주기에 다시 반영한다
+            lectureRatingAggregator.requeue(deltas);
+            log.error("평점 반영 실패 (변화량 {}개)", deltas.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,79 @@
+package usw.suwiki.domain.lecture;
+
+import usw.suwiki.domain.evaluation.EvaluatePostsToLecture;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 강의별 평점 분포. 지표마다 고정 개수의 구간을 두고 모든 지표의 구간을 하나의 int[SIZE] 에 이어 붙인다.
+ * 만족도/배움/꿀강은 0 ~ 5 점을 0.5 단위 11 구간, 조모임/학점/과제는 0 ~ 2 단계 3 구간.
+ * 평가 하나의 추가/삭제는 지표마다 구간 하나씩만 바꾸므로 O(1) 이다.
+ */
+public final class LectureRatingHistogram {
+
+    public static final List<String> METRICS = List.of("satisfaction", "learning", "honey", "team", "difficulty", "homework");
+
+    private static final int[] BUCKETS = {11, 11, 11, 3, 3, 3};
+    private static final int[] OFFSETS = {0, 11, 22, 33, 36, 39};
+    public static final int SIZE = 42;
+
+    private LectureRatingHistogram() {
+    }
+
+    // 범위를 벗어난 값은 양 끝 구간에 넣는다
+    public static int index(int metric, float value) {
+        int bucket = metric < 3 ? Math.round(value * 2) : Math.round(value);
+        return OFFSETS[metric] + Math.max(0, Math.min(BUCKETS[metric] - 1, bucket));
+    }
+
+    static int[] indexesOf(EvaluatePostsToLecture dto) {
+        return new int[]{
+                index(0, dto.getLectureSatisfaction()),
+                index(1, dto.getLectureLearning()),
+                index(2, dto.getLectureHoney()),
+                index(3, dto.getLectureTeam()),
+                index(4, dto.getLectureDifficulty()),
+                index(5, dto.getLectureHomework())};
+    }
+
+    // 지표 이름 → 구간별 평가 수. counts 가 없으면 모두 0
+    public static Map<String, int[]> toDistribution(int[] counts) {
+        Map<String, int[]> result = new LinkedHashMap<>();
+        for (int metric = 0; metric < METRICS.size(); metric++) {
+            int[] buckets = new int[BUCKETS[metric]];
+            if (counts != null) {
+                System.arraycopy(counts, OFFSETS[metric], buckets, 0, buckets.length);
+            }
+            result.put(METRICS.get(metric), buckets);
+        }
+        return result;
+    }
+
+    // 0 이 아닌 구간만 "index:count" 로 이어 적는다 (대기 행 저장용)
+    static String pack(int[] counts) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                if (builder.length() > 0) {
+                    builder.append(',');
+                }
+                builder.append(i).append(':').append(counts[i]);
+            }
+        }
+        return builder.toString();
+    }
+
+    static int[] unpack(String packed) {
+        int[] counts = new int[SIZE];
+        if (packed == null || packed.isEmpty()) {
+            return counts;
+        }
+        for (String entry : packed.split(",")) {
+            int separator = entry.indexOf(':');
+            counts[Integer.parseInt(entry.substring(0, separator))] += Integer.parseInt(entry.substring(separator + 1));
+        }
+        return counts;
+    }
+}
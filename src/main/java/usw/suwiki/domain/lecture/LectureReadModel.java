@@ -0,0 +1,478 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.IntPredicate;
+
+/**
+ * 강의 목록 조회용 컬럼형(struct-of-arrays) 읽기 모델.
+ * 정렬 옵션별 / 학과별로 미리 정렬된 순열을 들고 있어 /lecture/all 의 페이지와 전체 개수를 DB 없이 계산한다.
+ * 평점이 바뀐 강의는 update 에서 반영 주기 단위로 모아 해당 위치만 다시 끼워 넣는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LectureReadModel {
+
+    private final LectureCountCache lectureCountCache;
+
+    private volatile Columns columns = new Columns(new ArrayList<>());
+
+    public boolean isReady() {
+        return columns.size() > 0;
+    }
+
+    Columns columns() {
+        return columns;
+    }
+
+    public void rebuild(List<Lecture> lectures) {
+        this.columns = new Columns(lectures);
+    }
+
+    public void update(Lecture lecture) {
+        update(List.of(lecture));
+    }
+
+    // 한 번의 평점 반영에서 바뀐 강의들을 한 스냅샷으로 반영한다
+    public void update(List<Lecture> lectures) {
+        columns.update(lectures);
+    }
+
+    // 주어진 id 순서대로, 없는 id 는 건너뛴다
+    public List<LectureResponseDto> findAllByIds(long[] ids) {
+        Columns current = columns;
+        List<LectureResponseDto> result = new ArrayList<>();
+        for (long id : ids) {
+            int ordinal = current.ordinalOf(id);
+            if (ordinal >= 0) {
+                result.add(current.toResponseDto(ordinal));
+            }
+        }
+        return result;
+    }
+
+    public LectureListAndCountDto findPage(LectureFindOption option) {
+        long generation = countGeneration();
+        String countKey = LectureCountCache.key("", option);
+        return findPage(columns, option, ordinal -> true, countKey, generation);
+    }
+
+    // 색인보다 먼저 읽어 두면, 계산 중에 색인이 교체된 개수는 캐시에 남지 않는다
+    long countGeneration() {
+        return lectureCountCache.generation();
+    }
+
+    // 정렬된 순열을 따라가며 조건에 맞는 강의만 세고, 요청된 페이지만 DTO 로 만든다
+    // facet 필터는 비트맵 교집합으로, 시간표 조건은 강의별 비트마스크 연산으로 거르고, facet 별 개수도 같은 순회에서 센다
+    // 캐시된 개수가 있으면 다음 페이지 존재 여부까지만 확인하고 순회를 멈춘다
+    LectureListAndCountDto findPage(Columns current, LectureFindOption option, IntPredicate filter, String countKey,
+                                    long generation) {
+        // 평점이 바뀌어도 한 요청 안에서는 같은 값과 순열을 읽도록 한 번만 가져온다
+        Values values = current.values();
+        int order = Columns.orderIndex(option.validOrderOption());
+        int[] ordering = current.ordering(values, option.getMajorType().orElse(""), order);
+        Optional<LectureCursor> cursor = option.validCursor();
+        BitSet facetFilter = current.semesterFilter(option, current.facets.filter(option));
+        IntPredicate matcher = facetFilter == null ? filter : ordinal -> facetFilter.get(ordinal) && filter.test(ordinal);
+        IntPredicate slotFilter = current.slotFilter(option);
+        if (slotFilter != null) {
+            matcher = slotFilter.and(matcher);
+        }
+
+        // cursor 가 있으면 그 다음 위치부터, 없으면 page 만큼 건너뛴다
+        int start = cursor.map(value -> values.seek(ordering, order, value)).orElse(0);
+        long skip = cursor.isPresent() ? 0 : (long) (option.validPageNumber() - 1) * LectureFindOption.PAGE_SIZE;
+
+        Long cachedCount = lectureCountCache.get(countKey);
+        Map<String, Map<String, Long>> cachedFacets = lectureCountCache.getFacetCounts(countKey);
+        boolean cached = cachedCount != null && cachedFacets != null;
+        long[][] facetCounts = current.facets.newCounts();
+        List<LectureResponseDto> lectureList = new ArrayList<>();
+        int last = -1;
+        boolean hasNext = false;
+        long count = 0;
+        long seen = 0;
+        for (int i = 0; i < ordering.length; i++) {
+            int ordinal = ordering[i];
+            if (!matcher.test(ordinal)) {
+                continue;
+            }
+            count++;
+            if (!cached) {
+                current.facets.count(facetCounts, ordinal);
+            }
+            if (i < start || seen++ < skip) {
+                continue;
+            }
+            if (lectureList.size() < LectureFindOption.PAGE_SIZE) {
+                lectureList.add(current.toResponseDto(values, ordinal));
+                last = ordinal;
+            } else {
+                hasNext = true;
+                if (cached) {
+                    break;
+                }
+            }
+        }
+        if (!cached) {
+            cachedCount = count;
+            cachedFacets = current.facets.toMap(facetCounts);
+            lectureCountCache.put(countKey, generation, cachedCount);
+            lectureCountCache.putFacetCounts(countKey, generation, cachedFacets);
+        }
+
+        String nextCursor = hasNext
+                ? new LectureCursor(option.validOrderOption(), values.orderValue(last, order), current.ids[last]).encode()
+                : null;
+        return LectureListAndCountDto.builder().lectureList(lectureList).count(cachedCount)
+                .nextCursor(nextCursor).countCached(cached).facets(cachedFacets).build();
+    }
+
+    static class Columns {
+        private static final int[] EMPTY = new int[0];
+
+        final long[] ids;
+        final String[] lectureNames;
+        final String[] professors;
+        final String[] semesterLists;
+        final String[] lectureTypes;
+        final String[] lectureCodes;
+        final String[] majors;
+        final int[] majorIndexes;
+        final LectureFacets facets;
+        final String[] semesters;
+        final BitSet[] semesterBitmaps;
+        final long[] slotLow;
+        final long[] slotHigh;
+
+        private volatile Values values;
+
+        private Columns(List<Lecture> lectures) {
+            List<Lecture> sorted = new ArrayList<>(lectures);
+            sorted.sort(Comparator.comparing(Lecture::getId));
+            int size = sorted.size();
+
+            TreeSet<String> majorSet = new TreeSet<>();
+            for (Lecture lecture : sorted) {
+                // 학과가 없는 강의는 "" (전체 조회에만 나온다)
+                majorSet.add(Objects.toString(lecture.getMajorType(), ""));
+            }
+            this.majors = majorSet.toArray(new String[0]);
+
+            this.ids = new long[size];
+            this.lectureNames = new String[size];
+            this.professors = new String[size];
+            this.semesterLists = new String[size];
+            this.lectureTypes = new String[size];
+            this.lectureCodes = new String[size];
+            this.majorIndexes = new int[size];
+            this.slotLow = new long[size];
+            this.slotHigh = new long[size];
+            Values initial = new Values(ids, size, majors.length);
+
+            for (int i = 0; i < size; i++) {
+                Lecture lecture = sorted.get(i);
+                ids[i] = lecture.getId();
+                lectureNames[i] = lecture.getLectureName();
+                professors[i] = lecture.getProfessor();
+                semesterLists[i] = lecture.getSemesterList();
+                lectureTypes[i] = lecture.getLectureType();
+                lectureCodes[i] = lecture.getLectureCode();
+                majorIndexes[i] = Arrays.binarySearch(majors, Objects.toString(lecture.getMajorType(), ""));
+                long[] slots = LectureTimeSlot.parse(lecture.getPlaceSchedule());
+                slotLow[i] = slots[0];
+                slotHigh[i] = slots[1];
+                initial.write(i, lecture, lecture.getModifiedDate());
+            }
+
+            this.facets = new LectureFacets(sorted);
+
+            TreeSet<String> semesterSet = new TreeSet<>();
+            for (Lecture lecture : sorted) {
+                semesterSet.addAll(lecture.semesterValues());
+            }
+            this.semesters = semesterSet.toArray(new String[0]);
+            this.semesterBitmaps = new BitSet[semesters.length];
+            for (int semester = 0; semester < semesters.length; semester++) {
+                semesterBitmaps[semester] = new BitSet(size);
+            }
+            for (int i = 0; i < size; i++) {
+                for (String semester : sorted.get(i).semesterValues()) {
+                    semesterBitmaps[Arrays.binarySearch(semesters, semester)].set(i);
+                }
+            }
+
+            for (int order = 0; order < initial.orderings.length; order++) {
+                Integer[] boxed = new Integer[size];
+                Arrays.setAll(boxed, i -> i);
+                Arrays.sort(boxed, initial.comparator(order));
+                int[] ordering = Arrays.stream(boxed).mapToInt(Integer::intValue).toArray();
+                initial.orderings[order] = ordering;
+
+                int[] majorSizes = new int[majors.length];
+                for (int ordinal : ordering) {
+                    majorSizes[majorIndexes[ordinal]]++;
+                }
+                for (int major = 0; major < majors.length; major++) {
+                    initial.majorOrderings[major][order] = new int[majorSizes[major]];
+                }
+                int[] cursor = new int[majors.length];
+                for (int ordinal : ordering) {
+                    int major = majorIndexes[ordinal];
+                    initial.majorOrderings[major][order][cursor[major]++] = ordinal;
+                }
+            }
+            this.values = initial;
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        // 평점 값과 순열의 현재 스냅샷. 여러 값을 함께 읽을 때는 한 번만 가져와 쓴다
+        Values values() {
+            return values;
+        }
+
+        int ordinalOf(Long id) {
+            return id == null ? -1 : Arrays.binarySearch(ids, id);
+        }
+
+        int majorSize(int major) {
+            return values.majorOrderings[major][0].length;
+        }
+
+        int majorIndexOf(String majorType) {
+            return Arrays.binarySearch(majors, majorType);
+        }
+
+        int[] ordering(Values values, String majorType, int order) {
+            if (majorType.isEmpty()) {
+                return values.orderings[order];
+            }
+            int major = majorIndexOf(majorType);
+            return major < 0 ? EMPTY : values.majorOrderings[major][order];
+        }
+
+        // 개설 학기 비트맵을 filter 와 AND 한다. 학기 조건이 없으면 filter 그대로
+        BitSet semesterFilter(LectureFindOption option, BitSet filter) {
+            Optional<String> semester = option.getSemester().filter(value -> !value.isEmpty());
+            if (semester.isEmpty()) {
+                return filter;
+            }
+            int index = Arrays.binarySearch(semesters, semester.get().trim());
+            if (index < 0) {
+                return new BitSet(size());
+            }
+            if (filter == null) {
+                return (BitSet) semesterBitmaps[index].clone();
+            }
+            filter.and(semesterBitmaps[index]);
+            return filter;
+        }
+
+        // 시간표 조건이 없으면 null
+        IntPredicate slotFilter(LectureFindOption option) {
+            Optional<long[]> slots = option.validSlots();
+            if (slots.isEmpty()) {
+                return null;
+            }
+            long[] mask = slots.get();
+            if (option.validSlotMode().equals("avoid")) {
+                return ordinal -> LectureTimeSlot.avoids(slotLow[ordinal], slotHigh[ordinal], mask);
+            }
+            return ordinal -> LectureTimeSlot.fits(slotLow[ordinal], slotHigh[ordinal], mask);
+        }
+
+        LectureResponseDto toResponseDto(int ordinal) {
+            return toResponseDto(values, ordinal);
+        }
+
+        LectureResponseDto toResponseDto(Values values, int ordinal) {
+            return new LectureResponseDto(ids[ordinal], semesterLists[ordinal], professors[ordinal], lectureTypes[ordinal],
+                    lectureNames[ordinal], majors[majorIndexes[ordinal]], values.lectureTotalAvg[ordinal],
+                    values.lectureSatisfactionAvg[ordinal], values.lectureHoneyAvg[ordinal], values.lectureLearningAvg[ordinal]);
+        }
+
+        static int orderIndex(String orderOption) {
+            return LectureFindOption.ORDER_OPTIONS.indexOf(orderOption);
+        }
+
+        // 값이 바뀐 강의들을 각 순열에서 빼고, 새 값으로 정렬해 나머지와 한 번에 병합한다.
+        // 값 배열과 순열을 모두 복사본에 고친 뒤 values 한 번의 쓰기로 바꾸므로, 읽는 쪽은 이전 또는 새 스냅샷 하나만 본다
+        // 바뀐 강의 중 값이 달라진 것이 없는 정렬 옵션의 순열은 복사하지 않고 그대로 쓴다
+        private synchronized void update(List<Lecture> lectures) {
+            Values current = values;
+            Values next = new Values(current);
+            BitSet changed = new BitSet(size());
+            // modifiedDate 는 flush 시점에 채워지므로 현재 시각으로 대신한다
+            LocalDateTime now = LocalDateTime.now();
+            for (Lecture lecture : lectures) {
+                int ordinal = ordinalOf(lecture.getId());
+                if (ordinal >= 0) {
+                    next.write(ordinal, lecture, now);
+                    changed.set(ordinal);
+                }
+            }
+            if (changed.isEmpty()) {
+                return;
+            }
+
+            BitSet touched = new BitSet(majors.length);
+            changed.stream().forEach(ordinal -> touched.set(majorIndexes[ordinal]));
+            touched.stream().forEach(major -> next.majorOrderings[major] = next.majorOrderings[major].clone());
+            for (int order = 0; order < next.orderings.length; order++) {
+                if (!next.differs(current, changed, order)) {
+                    continue;
+                }
+                Comparator<Integer> comparator = next.comparator(order);
+                int[] sorted = changed.stream().boxed().sorted(comparator).mapToInt(Integer::intValue).toArray();
+                next.orderings[order] = next.reposition(next.orderings[order], changed, sorted, comparator);
+                for (int major = touched.nextSetBit(0); major >= 0; major = touched.nextSetBit(major + 1)) {
+                    int target = major;
+                    int[] members = Arrays.stream(sorted).filter(ordinal -> majorIndexes[ordinal] == target).toArray();
+                    next.majorOrderings[major][order] = next.reposition(next.majorOrderings[major][order], changed, members, comparator);
+                }
+            }
+            this.values = next;
+        }
+    }
+
+    /**
+     * 평점 / 수정 시각 / 평가 수와 그 값으로 정렬한 순열. 게시된 뒤에는 바꾸지 않는다.
+     */
+    static final class Values {
+        private final long[] ids;
+
+        // LectureFindOption.ORDER_OPTIONS 순서
+        final float[] lectureSatisfactionAvg;
+        final float[] lectureHoneyAvg;
+        final float[] lectureLearningAvg;
+        final float[] lectureTotalAvg;
+        final long[] modifiedDate;
+        final int[] postsCount;
+
+        private final int[][] orderings;
+        private final int[][][] majorOrderings;
+
+        private Values(long[] ids, int size, int majorCount) {
+            this.ids = ids;
+            this.lectureSatisfactionAvg = new float[size];
+            this.lectureHoneyAvg = new float[size];
+            this.lectureLearningAvg = new float[size];
+            this.lectureTotalAvg = new float[size];
+            this.modifiedDate = new long[size];
+            this.postsCount = new int[size];
+            this.orderings = new int[LectureFindOption.ORDER_OPTIONS.size()][];
+            this.majorOrderings = new int[majorCount][LectureFindOption.ORDER_OPTIONS.size()][];
+        }
+
+        // 값 배열과 순열 바깥 배열을 복사한다 (안쪽 순열은 바꿀 때 새로 만든다)
+        private Values(Values source) {
+            this.ids = source.ids;
+            this.lectureSatisfactionAvg = source.lectureSatisfactionAvg.clone();
+            this.lectureHoneyAvg = source.lectureHoneyAvg.clone();
+            this.lectureLearningAvg = source.lectureLearningAvg.clone();
+            this.lectureTotalAvg = source.lectureTotalAvg.clone();
+            this.modifiedDate = source.modifiedDate.clone();
+            this.postsCount = source.postsCount.clone();
+            this.orderings = source.orderings.clone();
+            this.majorOrderings = source.majorOrderings.clone();
+        }
+
+        // cursor 바로 다음 위치 (정렬 순서상 cursor 보다 뒤에 오는 첫 원소)
+        int seek(int[] ordering, int order, LectureCursor cursor) {
+            int low = 0;
+            int high = ordering.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int ordinal = ordering[mid];
+                int result = Double.compare(orderValue(ordinal, order), cursor.getOrderValue());
+                if (result == 0) {
+                    result = Long.compare(ids[ordinal], cursor.getId());
+                }
+                if (result >= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // 정렬 기준 값. modifiedDate 는 epoch micros 를 그대로 비교한다.
+        double orderValue(int ordinal, int order) {
+            switch (order) {
+                case 1:
+                    return lectureSatisfactionAvg[ordinal];
+                case 2:
+                    return lectureHoneyAvg[ordinal];
+                case 3:
+                    return lectureLearningAvg[ordinal];
+                case 4:
+                    return lectureTotalAvg[ordinal];
+                default:
+                    return modifiedDate[ordinal];
+            }
+        }
+
+        // 기준 값 내림차순, 같으면 id 내림차순
+        Comparator<Integer> comparator(int order) {
+            return (left, right) -> {
+                int result = Double.compare(orderValue(right, order), orderValue(left, order));
+                return result != 0 ? result : Long.compare(ids[right], ids[left]);
+            };
+        }
+
+        private void write(int ordinal, Lecture lecture, LocalDateTime modified) {
+            lectureSatisfactionAvg[ordinal] = lecture.getLectureSatisfactionAvg();
+            lectureHoneyAvg[ordinal] = lecture.getLectureHoneyAvg();
+            lectureLearningAvg[ordinal] = lecture.getLectureLearningAvg();
+            lectureTotalAvg[ordinal] = lecture.getLectureTotalAvg();
+            modifiedDate[ordinal] = LectureCursor.toEpochMicros(modified);
+            postsCount[ordinal] = lecture.getPostsCount();
+        }
+
+        // 바뀐 강의 중 이 정렬 기준 값이 이전 스냅샷과 달라진 것이 있는지
+        private boolean differs(Values previous, BitSet changed, int order) {
+            for (int ordinal = changed.nextSetBit(0); ordinal >= 0; ordinal = changed.nextSetBit(ordinal + 1)) {
+                if (Double.compare(orderValue(ordinal, order), previous.orderValue(ordinal, order)) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // 바뀌지 않은 강의는 순서가 그대로이므로, 빼낸 나머지와 새 값으로 정렬한 sorted 를 병합한다
+        // sorted 에는 이 순열에 속한 강의만 넣는다
+        private int[] reposition(int[] ordering, BitSet changed, int[] sorted, Comparator<Integer> comparator) {
+            int[] result = new int[ordering.length];
+            int size = 0;
+            int next = 0;
+            for (int each : ordering) {
+                if (changed.get(each)) {
+                    continue;
+                }
+                while (next < sorted.length && comparator.compare(sorted[next], each) < 0) {
+                    result[size++] = sorted[next++];
+                }
+                result[size++] = each;
+            }
+            while (next < sorted.length) {
+                result[size++] = sorted[next++];
+            }
+            return result;
+        }
+    }
+}
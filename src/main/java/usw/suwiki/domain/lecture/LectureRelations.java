@@ -0,0 +1,227 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 관련 강의 (같은 과목코드의 다른 분반, 같은 교수의 다른 강의, 같은 학과에서 평점이 비슷한 강의).
+ * 관계별로 CSR(offsets, targets) 배열에 담아 두고 조회는 배열 구간만 읽는다.
+ * 시간표 등록 시 전체를 다시 만들고, 평점 변경은 표시만 해 두었다가 다음 주기에 전용 스레드에서 한 번에 다시 계산한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LectureRelations {
+
+    private static final int SAME_CODE = 0;
+    private static final int SAME_PROFESSOR = 1;
+    private static final int SIMILAR_RATING = 2;
+
+    private static final int MAX_PER_RELATION = 10;
+    private static final int RATING_NEIGHBORS = 5;
+
+    private final LectureReadModel lectureReadModel;
+
+    // 공용 스케줄러 스레드를 붙잡지 않도록 다시 계산은 따로 돌린다
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "lecture-relations"));
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile Snapshot snapshot = new Snapshot(null);
+    private volatile boolean dirty;
+
+    // LectureReadModel 이 먼저 rebuild 된 뒤 같은 컬럼을 기준으로 만든다
+    // 계산 중에 들어온 평점 변경은 다음 주기에 반영되도록 표시부터 지운다
+    public void rebuild() {
+        this.dirty = false;
+        this.snapshot = new Snapshot(lectureReadModel.columns());
+    }
+
+    public void markDirty() {
+        this.dirty = true;
+    }
+
+    @Scheduled(cron = "15 * * * * *")
+    public void rebuildIfDirty() {
+        if (!dirty || !running.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.error("관련 강의 재계산 실패", e);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public RelatedLecturesDto find(Long lectureId) {
+        Snapshot current = snapshot;
+        if (current.columns == null) {
+            return new RelatedLecturesDto(Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+        }
+        int ordinal = current.columns.ordinalOf(lectureId);
+        if (ordinal < 0) {
+            return new RelatedLecturesDto(Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+        }
+        return new RelatedLecturesDto(current.related(SAME_CODE, ordinal), current.related(SAME_PROFESSOR, ordinal),
+                current.related(SIMILAR_RATING, ordinal));
+    }
+
+    private static class Snapshot {
+        private final LectureReadModel.Columns columns;
+        private final LectureReadModel.Values values;
+        private final int[][] offsets = new int[3][];
+        private final int[][] targets = new int[3][];
+
+        private Snapshot(LectureReadModel.Columns columns) {
+            this.columns = columns;
+            this.values = columns == null ? null : columns.values();
+            if (columns == null) {
+                return;
+            }
+            int size = columns.size();
+            List<List<Integer>> sameCode = groupNeighbors(columns.lectureCodes, size);
+            List<List<Integer>> sameProfessor = groupNeighbors(columns.professors, size);
+            List<List<Integer>> similarRating = ratingNeighbors(columns, size);
+            compact(SAME_CODE, sameCode);
+            compact(SAME_PROFESSOR, sameProfessor);
+            compact(SIMILAR_RATING, similarRating);
+        }
+
+        private List<LectureResponseDto> related(int relation, int ordinal) {
+            List<LectureResponseDto> result = new ArrayList<>();
+            for (int i = offsets[relation][ordinal]; i < offsets[relation][ordinal + 1]; i++) {
+                result.add(columns.toResponseDto(targets[relation][i]));
+            }
+            return result;
+        }
+
+        private void compact(int relation, List<List<Integer>> neighbors) {
+            int[] offset = new int[neighbors.size() + 1];
+            for (int i = 0; i < neighbors.size(); i++) {
+                offset[i + 1] = offset[i] + neighbors.get(i).size();
+            }
+            int[] target = new int[offset[neighbors.size()]];
+            for (int i = 0; i < neighbors.size(); i++) {
+                int index = offset[i];
+                for (int neighbor : neighbors.get(i)) {
+                    target[index++] = neighbor;
+                }
+            }
+            offsets[relation] = offset;
+            targets[relation] = target;
+        }
+
+        // 같은 값을 가진 다른 강의 (평가 수가 많은 순, 최대 MAX_PER_RELATION 개). 값이 없거나 "-" 이면 관계 없음
+        private List<List<Integer>> groupNeighbors(String[] keys, int size) {
+            Map<String, List<Integer>> groups = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                String value = keys[i];
+                if (value == null || value.isBlank() || value.equals("-")) {
+                    continue;
+                }
+                groups.computeIfAbsent(value, key -> new ArrayList<>()).add(i);
+            }
+            for (List<Integer> group : groups.values()) {
+                group.sort((left, right) -> Integer.compare(values.postsCount[right], values.postsCount[left]));
+            }
+
+            List<List<Integer>> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                List<Integer> neighbors = new ArrayList<>();
+                List<Integer> group = keys[i] == null ? null : groups.get(keys[i]);
+                if (group != null) {
+                    for (int neighbor : group) {
+                        if (neighbor != i && neighbors.size() < MAX_PER_RELATION) {
+                            neighbors.add(neighbor);
+                        }
+                    }
+                }
+                result.add(neighbors);
+            }
+            return result;
+        }
+
+        // 같은 학과에서 평가가 있는 강의끼리 (만족도, 꿀강, 배움) 거리가 가까운 RATING_NEIGHBORS 개
+        // 만족도 순으로 정렬해 두고 양옆으로 넓혀 가다가, 만족도 차이만으로도 k 번째 거리보다 멀어지면 멈춘다
+        private List<List<Integer>> ratingNeighbors(LectureReadModel.Columns columns, int size) {
+            List<List<Integer>> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(new ArrayList<>());
+            }
+            for (int major = 0; major < columns.majors.length; major++) {
+                int[] members = Arrays.stream(columns.ordering(values, columns.majors[major], 0))
+                        .filter(ordinal -> values.postsCount[ordinal] > 0)
+                        .boxed()
+                        .sorted((left, right) -> {
+                            int compared = Float.compare(values.lectureSatisfactionAvg[left], values.lectureSatisfactionAvg[right]);
+                            return compared != 0 ? compared : Integer.compare(left, right);
+                        })
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+                for (int i = 0; i < members.length; i++) {
+                    result.get(members[i]).addAll(nearest(members, i));
+                }
+            }
+            return result;
+        }
+
+        private List<Integer> nearest(int[] members, int index) {
+            int ordinal = members[index];
+            Comparator<Integer> closer = Comparator.comparingDouble((Integer other) -> distance(ordinal, other))
+                    .thenComparingInt(other -> other);
+            // 가장 먼 후보가 맨 앞
+            PriorityQueue<Integer> heap = new PriorityQueue<>(RATING_NEIGHBORS + 1, closer.reversed());
+            int left = index - 1;
+            int right = index + 1;
+            while (left >= 0 || right < members.length) {
+                double leftGap = left >= 0 ? gap(ordinal, members[left]) : Double.MAX_VALUE;
+                double rightGap = right < members.length ? gap(ordinal, members[right]) : Double.MAX_VALUE;
+                double gap = Math.min(leftGap, rightGap);
+                if (heap.size() == RATING_NEIGHBORS && gap * gap > distance(ordinal, heap.peek())) {
+                    break;
+                }
+                heap.add(leftGap <= rightGap ? members[left--] : members[right++]);
+                if (heap.size() > RATING_NEIGHBORS) {
+                    heap.poll();
+                }
+            }
+            List<Integer> neighbors = new ArrayList<>(heap);
+            neighbors.sort(closer);
+            return neighbors;
+        }
+
+        private double gap(int left, int right) {
+            return Math.abs(values.lectureSatisfactionAvg[left] - values.lectureSatisfactionAvg[right]);
+        }
+
+        private double distance(int left, int right) {
+            double satisfaction = values.lectureSatisfactionAvg[left] - values.lectureSatisfactionAvg[right];
+            double honey = values.lectureHoneyAvg[left] - values.lectureHoneyAvg[right];
+            double learning = values.lectureLearningAvg[left] - values.lectureLearningAvg[right];
+            return satisfaction * satisfaction + honey * honey + learning * learning;
+        }
+    }
+}
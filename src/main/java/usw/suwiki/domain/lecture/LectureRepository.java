@@ -5,15 +5,19 @@ import usw.suwiki.domain.lecture.Lecture;
 import usw.suwiki.domain.lecture.LectureListAndCountDto;
 
 import java.util.List;
+import java.util.Map;
 
 public interface LectureRepository {
     void save(Lecture lecture);
     Lecture verifyJsonLecture(String lectureName,String ProfessorName,String majorType);
     Lecture findById(Long id);
-    LectureListAndCountDto findLectureByFindOption(String searchValue, LectureFindOption lectureFindOption);
-    LectureListAndCountDto findLectureByMajorType(String searchValue, LectureFindOption lectureFindOption);
-    LectureListAndCountDto findAllLectureByFindOption(LectureFindOption lectureFindOption);
-    LectureListAndCountDto findAllLectureByMajorType(LectureFindOption lectureFindOption);
+    List<Lecture> findAll();
+    List<Lecture> findAllWithoutSemesters();
+    List<Lecture> findAllByIds(List<Long> ids);
+    LectureListAndCountDto findLectureList(String searchValue, LectureFindOption lectureFindOption);
     List<String> findAllMajorType();
+    List<MajorTypeCountDto> findAllMajorTypeCount();
+    void applyRatingDeltas(List<LectureRatingDelta> deltas);
+    Map<Long, int[]> findHistograms(List<Long> lectureIds);
 
 }
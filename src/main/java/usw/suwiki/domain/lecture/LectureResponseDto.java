@@ -32,4 +32,19 @@ public class LectureResponseDto {
         this.lectureHoneyAvg = entity.getLectureHoneyAvg();
         this.lectureLearningAvg = entity.getLectureLearningAvg();
     }
-}
\ No newline at end of file
+
+    public LectureResponseDto(Long id, String semesterList, String professor, String lectureType, String lectureName,
+                              String majorType, float lectureTotalAvg, float lectureSatisfactionAvg,
+                              float lectureHoneyAvg, float lectureLearningAvg) {
+        this.id = id;
+        this.semesterList = semesterList;
+        this.professor = professor;
+        this.lectureType = lectureType;
+        this.lectureName = lectureName;
+        this.majorType = majorType;
+        this.lectureTotalAvg = lectureTotalAvg;
+        this.lectureSatisfactionAvg = lectureSatisfactionAvg;
+        this.lectureHoneyAvg = lectureHoneyAvg;
+        this.lectureLearningAvg = lectureLearningAvg;
+    }
+}
@@ -0,0 +1,66 @@
+package usw.suwiki.domain.lecture;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 검색 요청이 동시에 들어오면 먼저 온 요청만 계산하고 나머지는 그 결과를 함께 받는다 (single-flight).
+ * 합쳐진 요청 수는 lecture.search.coalesced 카운터로 노출된다.
+ */
+@Component
+public class LectureSearchFlight {
+
+    private final ConcurrentHashMap<String, CompletableFuture<LectureListAndCountDto>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    public LectureSearchFlight(MeterRegistry meterRegistry) {
+        this.coalesced = Counter.builder("lecture.search.coalesced")
+                .description("진행 중인 동일 검색에 합쳐진 요청 수")
+                .register(meterRegistry);
+    }
+
+    // 결과에 영향을 주는 모든 조건 (개수 캐시 키 + 정렬, 페이지, cursor)
+    public static String key(String searchValue, LectureFindOption option) {
+        return String.join("\u0000", LectureCountCache.key(searchValue, option),
+                option.getOrderOption().orElse(""),
+                String.valueOf(option.getPageNumber().orElse(1)),
+                option.getCursor().orElse(""));
+    }
+
+    public LectureListAndCountDto execute(String key, Supplier<LectureListAndCountDto> supplier) {
+        CompletableFuture<LectureListAndCountDto> future = new CompletableFuture<>();
+        CompletableFuture<LectureListAndCountDto> running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            coalesced.increment();
+            return join(running);
+        }
+        try {
+            LectureListAndCountDto result = supplier.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    // 먼저 온 요청의 예외는 그대로 다시 던진다
+    private LectureListAndCountDto join(CompletableFuture<LectureListAndCountDto> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * lectureName, professor 에 대한 1-gram / 2-gram 역색인.
+ * LIKE '%value%' 검색을 DB 풀스캔 없이 메모리에서 처리한다. 정렬과 페이지 구성은 LectureReadModel 의 순열을 따른다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LectureSearchIndex {
+
+    private final LectureReadModel lectureReadModel;
+
+    private volatile NgramIndex index = NgramIndex.EMPTY;
+
+    public boolean isReady() {
+        return index.isReady();
+    }
+
+    // LectureReadModel 이 먼저 rebuild 된 뒤 같은 컬럼을 기준으로 색인한다
+    public void rebuild() {
+        LectureReadModel.Columns columns = lectureReadModel.columns();
+        int size = columns.size();
+        String[] lectureNames = new String[size];
+        String[] professors = new String[size];
+        for (int i = 0; i < size; i++) {
+            lectureNames[i] = normalize(Objects.toString(columns.lectureNames[i], ""));
+            professors[i] = normalize(Objects.toString(columns.professors[i], ""));
+        }
+        this.index = new NgramIndex(columns, lectureNames, professors);
+    }
+
+    public LectureListAndCountDto search(String searchValue, LectureFindOption option) {
+        long generation = lectureReadModel.countGeneration();
+        NgramIndex current = index;
+        BitSet matched = current.match(normalize(searchValue));
+        String countKey = LectureCountCache.key(searchValue, option);
+        return lectureReadModel.findPage(current.columns, option, matched::get, countKey, generation);
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,21 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 인기 검색어 상위 TOP_SIZE 개의 첫 페이지를 주기적으로 미리 계산해 둔다
+@Component
+@RequiredArgsConstructor
+public class LectureSearchWarmer {
+
+    private final LectureQueryLog lectureQueryLog;
+    private final LectureService lectureService;
+
+    @Scheduled(cron = "30 * * * * *")
+    public void warm() {
+        for (PopularSearchDto dto : lectureQueryLog.getPopular(LectureQueryLog.TOP_SIZE)) {
+            lectureService.precomputeSearch(dto.getSearchValue());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.transaction.Transactional;
+import java.util.List;
+
+// 정규화 이전에 등록된 강의의 lecture_semester 를 semesterList 로 채운다.
+// 채워지지 않은 강의만 조회하므로 한 번 채운 뒤의 시작에서는 아무것도 하지 않는다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LectureSemesterMigration {
+
+    private final LectureRepository lectureRepository;
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        List<Lecture> lectures = lectureRepository.findAllWithoutSemesters();
+        int filled = 0;
+        for (Lecture lecture : lectures) {
+            if (lecture.syncSemesters()) {
+                filled++;
+            }
+        }
+        if (filled > 0) {
+            log.info("lecture_semester 채움: 강의 {}개", filled);
+        }
+    }
+}
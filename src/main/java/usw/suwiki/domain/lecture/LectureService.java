@@ -1,12 +1,24 @@
 package usw.suwiki.domain.lecture;
 
 import usw.suwiki.domain.evaluation.EvaluatePostsToLecture;
+import usw.suwiki.exception.AccountException;
+import usw.suwiki.exception.ErrorType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.transaction.Transactional;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Transactional
 @RequiredArgsConstructor
@@ -14,68 +26,239 @@ import java.util.List;
 public class LectureService {
 
     private final LectureRepository lectureRepository;
+    private final LectureRatingDeltaRepository lectureRatingDeltaRepository;
+    private final LectureRatingAggregator lectureRatingAggregator;
+    private final LectureReadModel lectureReadModel;
+    private final LectureSearchIndex lectureSearchIndex;
+    private final LectureChosungIndex lectureChosungIndex;
+    private final LectureSuggestIndex lectureSuggestIndex;
+    private final LectureLeaderboard lectureLeaderboard;
+    private final LectureSearchFlight lectureSearchFlight;
+    private final LectureQueryLog lectureQueryLog;
+    private final LectureFuzzyIndex lectureFuzzyIndex;
+    private final LectureRelations lectureRelations;
+    private final LectureCoOccurrence lectureCoOccurrence;
+    private final LectureIndexManager lectureIndexManager;
+    private final LectureDetailCache lectureDetailCache;
+    private final MajorTypeCatalog majorTypeCatalog;
 
     public void cancelLectureValue(EvaluatePostsToLecture dto){
-        Lecture lecture = lectureRepository.findById(dto.getLectureId());
-        lecture.cancelLectureValue(dto);
+        recordRatingDelta(LectureRatingDelta.of(dto, -1));
     }
 
     public void addLectureValue(EvaluatePostsToLecture dto){
-        Lecture lecture = lectureRepository.findById(dto.getLectureId());
-        lecture.addLectureValue(dto);
+        recordRatingDelta(LectureRatingDelta.of(dto, 1));
     }
 
-    public void calcLectureAvg(EvaluatePostsToLecture dto){
-        Lecture lecture = lectureRepository.findById(dto.getLectureId());
-        lecture.calcLectureAvg();
+    public void changeLectureValue(EvaluatePostsToLecture before, EvaluatePostsToLecture after){
+        recordRatingDelta(LectureRatingDelta.change(before, after));
     }
 
-    public LectureToJsonArray findAllLectureByFindOption(LectureFindOption lectureFindOption){
-        List<LectureResponseDto> dtoList = new ArrayList<>();
-        LectureListAndCountDto dto = lectureRepository.findAllLectureByFindOption(lectureFindOption);
-        for (Lecture lecture : dto.getLectureList()) {
-            dtoList.add(new LectureResponseDto(lecture));
+    // 평점 변화량은 강의평가와 같은 트랜잭션에 대기 행으로만 남기고 강의 행은 잠그지 않는다
+    // 커밋된 뒤 집계기에 쌓이고 LectureRatingFlusher 가 모아서 강의에 반영한다
+    private void recordRatingDelta(LectureRatingDelta delta){
+        lectureRatingDeltaRepository.save(delta);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lectureRatingAggregator.record(delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lectureRatingAggregator.record(delta);
+            }
+        });
+    }
+
+    // 대기 행을 지운 뒤 실제로 지운 행의 변화량만 강의별로 합쳐 반영하고, 바뀐 강의로 색인과 캐시를 갱신한다
+    // 다른 서버(재시작하며 복구 중인 서버 포함)가 먼저 지운 행은 그쪽에서 반영하므로 여기서는 빼 두 번 반영되지 않게 한다
+    public void applyRatingDeltas(List<LectureRatingDelta> deltas){
+        List<Long> deltaIds = new ArrayList<>();
+        for (LectureRatingDelta delta : deltas) {
+            deltaIds.add(delta.getId());
         }
+        Set<Long> deletedIds = new HashSet<>(lectureRatingDeltaRepository.deleteAllByIds(deltaIds));
 
-        return new LectureToJsonArray(dtoList, dto.getCount());
+        Map<Long, LectureRatingDelta> sums = new LinkedHashMap<>();
+        for (LectureRatingDelta delta : deltas) {
+            if (deletedIds.contains(delta.getId())) {
+                sums.computeIfAbsent(delta.getLectureId(), LectureRatingDelta::new).add(delta);
+            }
+        }
+        applyRatingSums(new ArrayList<>(sums.values()));
     }
 
-    public LectureToJsonArray findAllLectureByMajorType(LectureFindOption lectureFindOption){
-        List<LectureResponseDto> dtoList = new ArrayList<>();
-        LectureListAndCountDto dto = lectureRepository.findAllLectureByMajorType(lectureFindOption);
-        for (Lecture lecture : dto.getLectureList()) {
-            dtoList.add(new LectureResponseDto(lecture));
+    // 이전 실행에서 반영하지 못하고 남은 대기 행을 다시 반영한다
+    public void replayRatingDeltas(LocalDateTime startedAt){
+        applyRatingDeltas(lectureRatingDeltaRepository.findAllCreatedBefore(startedAt));
+    }
+
+    private void applyRatingSums(List<LectureRatingDelta> deltas){
+        if (deltas.isEmpty()) {
+            return;
+        }
+        lectureRepository.applyRatingDeltas(deltas);
+        List<Long> lectureIds = new ArrayList<>();
+        for (LectureRatingDelta delta : deltas) {
+            lectureIds.add(delta.getLectureId());
+        }
+        List<Lecture> lectures = lectureRepository.findAllByIds(lectureIds);
+        lectureIndexManager.update(lectures);
+        for (Lecture lecture : lectures) {
+            lectureDetailCache.evict(lecture.getId());
         }
+    }
+
+    public LectureToJsonArray findAllLectureByFindOption(LectureFindOption lectureFindOption){
+        LectureListAndCountDto dto = lectureReadModel.isReady()
+                ? lectureReadModel.findPage(lectureFindOption)
+                : lectureRepository.findLectureList(null, lectureFindOption);
+        return new LectureToJsonArray(dto.getLectureList(), dto.getCount(), dto.getNextCursor(), dto.getFacets());
+    }
 
-        return new LectureToJsonArray(dtoList, dto.getCount());
+    public LectureToJsonArray findAllLectureByMajorType(LectureFindOption lectureFindOption){
+        LectureListAndCountDto dto = lectureReadModel.isReady()
+                ? lectureReadModel.findPage(lectureFindOption)
+                : lectureRepository.findLectureList(null, lectureFindOption);
+        return new LectureToJsonArray(dto.getLectureList(), dto.getCount(), dto.getNextCursor(), dto.getFacets());
     }
 
     public LectureToJsonArray findLectureByFindOption(String searchValue , LectureFindOption lectureFindOption){
-        List<LectureResponseDto> dtoList = new ArrayList<>();
-        LectureListAndCountDto dto = lectureRepository.findLectureByFindOption(searchValue,lectureFindOption);
-        for (Lecture lecture : dto.getLectureList()) {
-            dtoList.add(new LectureResponseDto(lecture));
+        LectureListAndCountDto dto = searchLectureList(searchValue, lectureFindOption);
+        return new LectureToJsonArray(dto.getLectureList(), dto.getCount(), dto.getNextCursor(), dto.getFacets(),
+                didYouMean(searchValue, dto));
+    }
+
+    public LectureToJsonArray findLectureByMajorType(String searchValue , LectureFindOption lectureFindOption){
+        LectureListAndCountDto dto = searchLectureList(searchValue, lectureFindOption);
+        return new LectureToJsonArray(dto.getLectureList(), dto.getCount(), dto.getNextCursor(), dto.getFacets(),
+                didYouMean(searchValue, dto));
+    }
+
+    // 인기 검색어의 첫 페이지는 미리 계산된 결과를 쓰고, 동시에 들어온 같은 검색은 한 번만 계산한다
+    private LectureListAndCountDto searchLectureList(String searchValue, LectureFindOption lectureFindOption){
+        String key = LectureSearchFlight.key(searchValue, lectureFindOption);
+        LectureListAndCountDto warm = lectureQueryLog.getWarm(key);
+        if (warm != null) {
+            return warm;
         }
+        return lectureSearchFlight.execute(key, () -> findLectureList(searchValue, lectureFindOption));
+    }
 
-        return new LectureToJsonArray(dtoList, dto.getCount());
+    // 결과가 없으면 오타로 보고 편집 거리가 가까운 강의명/교수명을 추천한다
+    private List<String> didYouMean(String searchValue, LectureListAndCountDto dto){
+        if (dto.getCount() == null || dto.getCount() > 0 || LectureChosungIndex.isChosung(searchValue)) {
+            return null;
+        }
+        return lectureFuzzyIndex.didYouMean(searchValue);
     }
 
-    public LectureToJsonArray findLectureByMajorType(String searchValue , LectureFindOption lectureFindOption){
-        List<LectureResponseDto> dtoList = new ArrayList<>();
-        LectureListAndCountDto dto = lectureRepository.findLectureByMajorType(searchValue,lectureFindOption);
-        for (Lecture lecture : dto.getLectureList()) {
-            dtoList.add(new LectureResponseDto(lecture));
+    // 기본 조건(전체 학과, 최신순, 1페이지) 검색 결과를 미리 계산해 둔다
+    public void precomputeSearch(String searchValue){
+        LectureFindOption lectureFindOption = LectureFindOption.builder()
+                .orderOption(Optional.empty()).pageNumber(Optional.empty()).majorType(Optional.empty()).build();
+        String key = LectureSearchFlight.key(searchValue, lectureFindOption);
+        lectureQueryLog.putWarm(key, searchValue, findLectureList(searchValue, lectureFindOption));
+    }
+
+    public List<PopularSearchDto> findPopularSearches(int size){
+        return lectureQueryLog.getPopular(size);
+    }
+
+    // 초성만 입력한 검색어는 LIKE 로 찾을 수 없으므로 초성 색인에서만 찾는다
+    private LectureListAndCountDto findLectureList(String searchValue, LectureFindOption lectureFindOption){
+        if (LectureChosungIndex.isChosung(searchValue) && lectureChosungIndex.isReady()) {
+            return lectureChosungIndex.search(searchValue, lectureFindOption);
         }
+        return lectureSearchIndex.isReady()
+                ? lectureSearchIndex.search(searchValue, lectureFindOption)
+                : lectureRepository.findLectureList(searchValue, lectureFindOption);
+    }
+
+    public List<LectureSuggestDto> suggest(String prefix, int size){
+        return lectureSuggestIndex.suggest(prefix, size);
+    }
+
+    public RelatedLecturesDto findRelatedLectures(Long lectureId){
+        return lectureRelations.find(lectureId);
+    }
+
+    public List<LectureResponseDto> findAlsoRatedLectures(Long lectureId){
+        long[] ids = lectureCoOccurrence.findNeighborIds(lectureId);
+        if (lectureReadModel.isReady()) {
+            return lectureReadModel.findAllByIds(ids);
+        }
+        List<LectureResponseDto> resultList = new ArrayList<>();
+        List<Long> idList = new ArrayList<>();
+        for (long id : ids) {
+            idList.add(id);
+        }
+        Map<Long, Lecture> lectures = new HashMap<>();
+        for (Lecture lecture : lectureRepository.findAllByIds(idList)) {
+            lectures.put(lecture.getId(), lecture);
+        }
+        for (Long id : idList) {
+            if (lectures.containsKey(id)) {
+                resultList.add(new LectureResponseDto(lectures.get(id)));
+            }
+        }
+        return resultList;
+    }
 
-        return new LectureToJsonArray(dtoList, dto.getCount());
+    public List<LectureResponseDto> findTopLectures(String majorType, String metric, int size){
+        return lectureLeaderboard.top(majorType, metric, size);
     }
 
+    @Transactional(Transactional.TxType.SUPPORTS)
     public LectureDetailResponseDto findByIdDetail(Long id){
-        Lecture lecture = lectureRepository.findById(id);
-        LectureDetailResponseDto dto = new LectureDetailResponseDto(lecture);
+        LectureDetailResponseDto dto = lectureDetailCache.get(id, lectureId -> {
+            Lecture lecture = lectureRepository.findById(lectureId);
+            if (lecture == null) {
+                return null;
+            }
+            return new LectureDetailResponseDto(lecture, lectureRepository.findHistograms(List.of(lectureId)).get(lectureId));
+        });
+        if (dto == null) {
+            throw new AccountException(ErrorType.NOT_EXISTS_LECTURE);
+        }
         return dto;
     }
 
+    // 캐시에 없는 강의만 IN 쿼리 한 번으로 읽는다. 없는 id 는 결과에서 빠진다.
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public Map<Long, LectureDetailResponseDto> findAllByIdsDetail(List<Long> ids){
+        Set<Long> distinctIds = ids == null ? new LinkedHashSet<>() : new LinkedHashSet<>(ids);
+        distinctIds.remove(null);
+        if (distinctIds.size() > LectureBatchRequestDto.MAX_SIZE) {
+            throw new AccountException(ErrorType.TOO_MANY_LECTURE_IDS);
+        }
+
+        Map<Long, LectureDetailResponseDto> found = new HashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            LectureDetailResponseDto dto = lectureDetailCache.getIfPresent(id);
+            if (dto == null) {
+                missingIds.add(id);
+            } else {
+                found.put(id, dto);
+            }
+        }
+        Map<Long, int[]> histograms = lectureRepository.findHistograms(missingIds);
+        for (Lecture lecture : lectureRepository.findAllByIds(missingIds)) {
+            LectureDetailResponseDto dto = new LectureDetailResponseDto(lecture, histograms.get(lecture.getId()));
+            lectureDetailCache.put(lecture.getId(), dto);
+            found.put(lecture.getId(), dto);
+        }
+
+        Map<Long, LectureDetailResponseDto> result = new LinkedHashMap<>();
+        for (Long id : distinctIds) {
+            if (found.containsKey(id)) {
+                result.put(id, found.get(id));
+            }
+        }
+        return result;
+    }
+
     public Lecture findById(Long id){
         return lectureRepository.findById(id);
     }
@@ -85,4 +268,12 @@ public class LectureService {
         return resultList;
     }
 
+    // 서버 시작 직후 색인이 만들어지기 전에는 DB 에서 센다
+    public MajorTypeCatalogDto findMajorTypeCatalog(){
+        if (!majorTypeCatalog.isReady()) {
+            return MajorTypeCatalog.of(lectureRepository.findAllMajorTypeCount());
+        }
+        return majorTypeCatalog.getCatalog();
+    }
+
 }
@@ -0,0 +1,20 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class LectureSuggestDto {
+    private String text;
+    private String type; // lectureName, professor
+    private int postsCount;
+    private float lectureTotalAvg;
+
+    public LectureSuggestDto(String text, String type, int postsCount, float lectureTotalAvg) {
+        this.text = text;
+        this.type = type;
+        this.postsCount = postsCount;
+        this.lectureTotalAvg = lectureTotalAvg;
+    }
+}
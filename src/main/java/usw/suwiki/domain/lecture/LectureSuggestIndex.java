@@ -0,0 +1,225 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * lectureName, professor 자동완성용 압축 트라이(radix trie).
+ * 각 노드는 하위 키 중 상위 MAX_SIZE 개를 만들 때 미리 골라 두어, prefix 로 노드를 찾으면 그 목록 앞부분만 돌려준다.
+ * 순위 값(postsCount, lectureTotalAvg)은 만들 때의 LectureReadModel 값이며, 평점 변경은 표시해 두었다가 매 분 다시 만든다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LectureSuggestIndex {
+
+    public static final int DEFAULT_SIZE = 10;
+    public static final int MAX_SIZE = 20;
+
+    private static final String LECTURE_NAME = "lectureName";
+    private static final String PROFESSOR = "professor";
+
+    private final LectureReadModel lectureReadModel;
+
+    private volatile Snapshot snapshot = new Snapshot(null, new ArrayList<>());
+    private volatile boolean dirty;
+
+    public boolean isReady() {
+        return snapshot.columns != null && snapshot.columns.size() > 0;
+    }
+
+    // LectureReadModel 이 먼저 rebuild 된 뒤 같은 컬럼을 기준으로 만든다
+    public void rebuild() {
+        this.dirty = false;
+        LectureReadModel.Columns columns = lectureReadModel.columns();
+        Map<String, Entry> entries = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            add(entries, LECTURE_NAME, columns.lectureNames[i], i);
+            add(entries, PROFESSOR, columns.professors[i], i);
+        }
+        this.snapshot = new Snapshot(columns, new ArrayList<>(entries.values()));
+    }
+
+    public void markDirty() {
+        this.dirty = true;
+    }
+
+    @Scheduled(cron = "45 * * * * *")
+    public void rebuildIfDirty() {
+        if (dirty) {
+            rebuild();
+        }
+    }
+
+    public List<LectureSuggestDto> suggest(String prefix, int size) {
+        Snapshot current = snapshot;
+        String key = LectureSearchIndex.normalize(prefix);
+        if (key.isEmpty() || current.root == null) {
+            return Collections.emptyList();
+        }
+        Node node = current.find(key);
+        if (node == null) {
+            return Collections.emptyList();
+        }
+        return current.top(node, Math.max(1, Math.min(size, MAX_SIZE)));
+    }
+
+    private static void add(Map<String, Entry> entries, String type, String text, int ordinal) {
+        String key = LectureSearchIndex.normalize(text);
+        if (key.isEmpty()) {
+            return;
+        }
+        entries.computeIfAbsent(type + '\u0000' + key, value -> new Entry(key, text.trim(), type)).ordinals.add(ordinal);
+    }
+
+    private static class Entry {
+        private final String key;
+        private final String text;
+        private final String type;
+        private final List<Integer> ordinals = new ArrayList<>();
+
+        private Entry(String key, String text, String type) {
+            this.key = key;
+            this.text = text;
+            this.type = type;
+        }
+    }
+
+    private static class Node {
+        private final char[] firsts;
+        private final String[] labels;
+        private final Node[] children;
+        // 하위 키 중 순위 상위 MAX_SIZE 개 (키 번호, 순위순)
+        private final int[] top;
+
+        private Node(char[] firsts, String[] labels, Node[] children, int[] top) {
+            this.firsts = firsts;
+            this.labels = labels;
+            this.children = children;
+            this.top = top;
+        }
+    }
+
+    private static class Snapshot {
+        private final LectureReadModel.Columns columns;
+        private final String[] keys;
+        private final String[] texts;
+        private final String[] types;
+        private final int[] postsCounts;
+        private final float[] lectureTotalAvgs;
+        private final Comparator<Integer> rank;
+        private final Node root;
+
+        private Snapshot(LectureReadModel.Columns columns, List<Entry> entries) {
+            entries.sort(Comparator.comparing((Entry entry) -> entry.key).thenComparing(entry -> entry.type));
+            int size = entries.size();
+            this.columns = columns;
+            this.keys = new String[size];
+            this.texts = new String[size];
+            this.types = new String[size];
+            this.postsCounts = new int[size];
+            this.lectureTotalAvgs = new float[size];
+            LectureReadModel.Values values = columns == null ? null : columns.values();
+            for (int i = 0; i < size; i++) {
+                Entry entry = entries.get(i);
+                keys[i] = entry.key;
+                texts[i] = entry.text;
+                types[i] = entry.type;
+                // 같은 이름의 분반은 평가 수를 합치고 평점은 가장 높은 값으로 순위를 매긴다
+                for (int ordinal : entry.ordinals) {
+                    postsCounts[i] += values.postsCount[ordinal];
+                    lectureTotalAvgs[i] = Math.max(lectureTotalAvgs[i], values.lectureTotalAvg[ordinal]);
+                }
+            }
+            // 평가 수, 평점 내림차순, 같으면 이름순
+            this.rank = Comparator.comparingInt((Integer i) -> postsCounts[i]).reversed()
+                    .thenComparing(Comparator.comparingDouble((Integer i) -> lectureTotalAvgs[i]).reversed())
+                    .thenComparing(i -> texts[i]);
+            this.root = size == 0 ? null : build(0, size, 0);
+        }
+
+        // keys[from, to) 는 앞 depth 글자가 모두 같다. 다음 글자로 묶고 묶음의 공통 접두사를 간선 라벨로 압축한다.
+        // 상위 목록은 여기서 끝나는 키와 자식들의 상위 목록만 합쳐 고른다
+        private Node build(int from, int to, int depth) {
+            List<Integer> candidates = new ArrayList<>();
+            int i = from;
+            while (i < to && keys[i].length() == depth) {
+                candidates.add(i);
+                i++;
+            }
+            List<Character> firsts = new ArrayList<>();
+            List<String> labels = new ArrayList<>();
+            List<Node> children = new ArrayList<>();
+            while (i < to) {
+                char first = keys[i].charAt(depth);
+                int j = i + 1;
+                while (j < to && keys[j].charAt(depth) == first) {
+                    j++;
+                }
+                // 정렬되어 있으므로 처음과 마지막 키의 공통 접두사가 묶음 전체의 공통 접두사
+                int end = depth + 1;
+                String head = keys[i];
+                String tail = keys[j - 1];
+                while (end < head.length() && end < tail.length() && head.charAt(end) == tail.charAt(end)) {
+                    end++;
+                }
+                firsts.add(first);
+                labels.add(head.substring(depth, end));
+                Node child = build(i, j, end);
+                children.add(child);
+                for (int index : child.top) {
+                    candidates.add(index);
+                }
+                i = j;
+            }
+            candidates.sort(rank);
+            int[] top = candidates.stream().limit(MAX_SIZE).mapToInt(Integer::intValue).toArray();
+
+            char[] firstArray = new char[firsts.size()];
+            for (int k = 0; k < firstArray.length; k++) {
+                firstArray[k] = firsts.get(k);
+            }
+            return new Node(firstArray, labels.toArray(new String[0]), children.toArray(new Node[0]), top);
+        }
+
+        // prefix 로 시작하는 키들을 모두 포함하는 노드
+        private Node find(String prefix) {
+            Node node = root;
+            int depth = 0;
+            while (depth < prefix.length()) {
+                int index = Arrays.binarySearch(node.firsts, prefix.charAt(depth));
+                if (index < 0) {
+                    return null;
+                }
+                String label = node.labels[index];
+                int rest = prefix.length() - depth;
+                if (rest <= label.length()) {
+                    return label.regionMatches(0, prefix, depth, rest) ? node.children[index] : null;
+                }
+                if (!prefix.startsWith(label, depth)) {
+                    return null;
+                }
+                depth += label.length();
+                node = node.children[index];
+            }
+            return node;
+        }
+
+        private List<LectureSuggestDto> top(Node node, int size) {
+            List<LectureSuggestDto> result = new ArrayList<>();
+            for (int k = 0; k < Math.min(size, node.top.length); k++) {
+                int index = node.top[k];
+                result.add(new LectureSuggestDto(texts[index], types[index], postsCounts[index], lectureTotalAvgs[index]));
+            }
+            return result;
+        }
+    }
+}
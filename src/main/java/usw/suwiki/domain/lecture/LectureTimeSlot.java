@@ -0,0 +1,97 @@
+package usw.suwiki.domain.lecture;
+
+import usw.suwiki.exception.AccountException;
+import usw.suwiki.exception.ErrorType;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 주간 시간표 비트마스크. 요일(월~일) x 교시(1~16) 를 long 두 개(low, high)에 담는다.
+ * placeSchedule "미래103(금1,2),미래B102(금3,4)" 의 괄호 안 "요일교시,교시 요일교시" 를 읽는다.
+ */
+final class LectureTimeSlot {
+
+    static final String DAYS = "월화수목금토일";
+    static final int PERIODS_PER_DAY = 16;
+
+    private static final Pattern SCHEDULE = Pattern.compile("\\(([^)]*)\\)");
+
+    private LectureTimeSlot() {
+    }
+
+    // 강의 시간표 파싱. 형식이 맞지 않는 부분은 건너뛴다.
+    static long[] parse(String placeSchedule) {
+        long[] mask = new long[2];
+        if (placeSchedule == null) {
+            return mask;
+        }
+        Matcher matcher = SCHEDULE.matcher(placeSchedule);
+        while (matcher.find()) {
+            addSlots(mask, matcher.group(1), false);
+        }
+        return mask;
+    }
+
+    // 검색 조건 "월1,2 화3,4" 파싱. 형식이 맞지 않으면 INVALID_SLOT_OPTION
+    static long[] parseQuery(String slots) {
+        long[] mask = new long[2];
+        addSlots(mask, slots.replace('(', ' ').replace(')', ' ').replace('/', ' '), true);
+        if (isEmpty(mask)) {
+            throw new AccountException(ErrorType.INVALID_SLOT_OPTION);
+        }
+        return mask;
+    }
+
+    static boolean isEmpty(long[] mask) {
+        return mask[0] == 0 && mask[1] == 0;
+    }
+
+    // 강의 시간이 모두 slots 안에 들어가는지 (시간표가 없는 강의는 제외)
+    static boolean fits(long low, long high, long[] slots) {
+        return (low | high) != 0 && (low & ~slots[0]) == 0 && (high & ~slots[1]) == 0;
+    }
+
+    // 강의 시간이 slots 와 하나도 겹치지 않는지
+    static boolean avoids(long low, long high, long[] slots) {
+        return (low & slots[0]) == 0 && (high & slots[1]) == 0;
+    }
+
+    static String toKey(long[] mask) {
+        return Long.toHexString(mask[0]) + "." + Long.toHexString(mask[1]);
+    }
+
+    private static void addSlots(long[] mask, String text, boolean strict) {
+        for (String token : text.trim().split("[\\s]+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            int day = DAYS.indexOf(token.charAt(0));
+            if (day < 0) {
+                if (strict) {
+                    throw new AccountException(ErrorType.INVALID_SLOT_OPTION);
+                }
+                continue;
+            }
+            for (String value : token.substring(1).split(",")) {
+                int period;
+                try {
+                    period = Integer.parseInt(value.trim());
+                } catch (NumberFormatException e) {
+                    if (strict) {
+                        throw new AccountException(ErrorType.INVALID_SLOT_OPTION);
+                    }
+                    continue;
+                }
+                if (period < 1 || period > PERIODS_PER_DAY) {
+                    if (strict) {
+                        throw new AccountException(ErrorType.INVALID_SLOT_OPTION);
+                    }
+                    continue;
+                }
+                int bit = day * PERIODS_PER_DAY + period - 1;
+                mask[bit >>> 6] |= 1L << (bit & 63);
+            }
+        }
+    }
+}
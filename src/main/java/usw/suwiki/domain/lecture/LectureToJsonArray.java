@@ -3,6 +3,9 @@ package usw.suwiki.domain.lecture;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+import java.util.Map;
+
 @Getter
 @NoArgsConstructor
 public class LectureToJsonArray {
@@ -10,9 +13,37 @@ public class LectureToJsonArray {
 
     Long count;
 
+    String nextCursor;
+
+    Map<String, Map<String, Long>> facets;
+
+    List<String> didYouMean;
+
     public LectureToJsonArray(Object data, Long count) {
         this.data = data;
         this.count = count;
     }
 
+    public LectureToJsonArray(Object data, Long count, String nextCursor) {
+        this.data = data;
+        this.count = count;
+        this.nextCursor = nextCursor;
+    }
+
+    public LectureToJsonArray(Object data, Long count, String nextCursor, Map<String, Map<String, Long>> facets) {
+        this.data = data;
+        this.count = count;
+        this.nextCursor = nextCursor;
+        this.facets = facets;
+    }
+
+    public LectureToJsonArray(Object data, Long count, String nextCursor, Map<String, Map<String, Long>> facets,
+                              List<String> didYouMean) {
+        this.data = data;
+        this.count = count;
+        this.nextCursor = nextCursor;
+        this.facets = facets;
+        this.didYouMean = didYouMean;
+    }
+
 }
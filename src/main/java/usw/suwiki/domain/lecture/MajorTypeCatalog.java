@@ -0,0 +1,63 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 학과 목록과 학과별 강의 수. 시간표 Json 등록 후 LectureReadModel 에서 한 번 계산해 메모리에 둔다.
+ * version 은 내용의 해시라 서버가 여러 대여도 같은 값이 나오고, 클라이언트는 ETag 로 재다운로드를 건너뛴다.
+ * 처음 계산되기 전에는 LectureService 가 DB 에서 같은 형식으로 만들어 돌려준다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MajorTypeCatalog {
+
+    private final LectureReadModel lectureReadModel;
+
+    private volatile MajorTypeCatalogDto catalog;
+
+    public boolean isReady() {
+        return catalog != null;
+    }
+
+    // 학과가 없는 강의("")는 목록에서 뺀다
+    public void rebuild() {
+        LectureReadModel.Columns columns = lectureReadModel.columns();
+        List<MajorTypeCountDto> majorTypeList = new ArrayList<>();
+        for (int major = 0; major < columns.majors.length; major++) {
+            if (!columns.majors[major].isEmpty()) {
+                majorTypeList.add(new MajorTypeCountDto(columns.majors[major], columns.majorSize(major)));
+            }
+        }
+        this.catalog = of(majorTypeList);
+    }
+
+    // 학과명 순으로 정렬하고 내용으로 version 을 만든다. 학과명 목록과 강의 수 포함 목록의 version 은 따로 만든다
+    public static MajorTypeCatalogDto of(List<MajorTypeCountDto> majorTypeList) {
+        List<MajorTypeCountDto> sorted = new ArrayList<>(majorTypeList);
+        sorted.sort(Comparator.comparing(MajorTypeCountDto::getMajorType));
+        StringBuilder names = new StringBuilder();
+        StringBuilder content = new StringBuilder();
+        for (MajorTypeCountDto dto : sorted) {
+            names.append(dto.getMajorType()).append('\n');
+            content.append(dto.getMajorType()).append(':').append(dto.getLectureCount()).append('\n');
+        }
+        return new MajorTypeCatalogDto(Collections.unmodifiableList(sorted), md5(content), md5(names));
+    }
+
+    private static String md5(CharSequence content) {
+        return DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 목록과 version 이 항상 같은 시점의 값이 되도록 한 번에 돌려준다
+    public MajorTypeCatalogDto getCatalog() {
+        return catalog;
+    }
+}
@@ -0,0 +1,21 @@
+package usw.suwiki.domain.lecture;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class MajorTypeCatalogDto {
+    private final List<MajorTypeCountDto> majorTypeList;
+    private final String version;
+    // 학과명만의 version (/majorType 의 ETag). 강의 수만 바뀌면 그대로다
+    @JsonIgnore
+    private final String nameVersion;
+
+    public MajorTypeCatalogDto(List<MajorTypeCountDto> majorTypeList, String version, String nameVersion) {
+        this.majorTypeList = majorTypeList;
+        this.version = version;
+        this.nameVersion = nameVersion;
+    }
+}
@@ -0,0 +1,16 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class MajorTypeCountDto {
+    private String majorType;
+    private long lectureCount;
+
+    public MajorTypeCountDto(String majorType, long lectureCount) {
+        this.majorType = majorType;
+        this.lectureCount = lectureCount;
+    }
+}
@@ -0,0 +1,112 @@
+package usw.suwiki.domain.lecture;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 강의 ordinal 별 두 문자열(강의명, 교수명)에 대한 1-gram / 2-gram 역색인.
+ * 검색 색인들이 각자 정규화한 문자열로 만들어 쓰며, 만든 시점의 LectureReadModel 컬럼을 함께 들고 있다.
+ */
+class NgramIndex {
+
+    static final NgramIndex EMPTY = new NgramIndex(null, new String[0], new String[0]);
+
+    final LectureReadModel.Columns columns;
+    private final String[] lectureNames;
+    private final String[] professors;
+    private final Map<String, int[]> postings;
+
+    NgramIndex(LectureReadModel.Columns columns, String[] lectureNames, String[] professors) {
+        this.columns = columns;
+        this.lectureNames = lectureNames;
+        this.professors = professors;
+
+        Map<String, List<Integer>> grams = new HashMap<>();
+        for (int i = 0; i < lectureNames.length; i++) {
+            for (String gram : grams(lectureNames[i], professors[i])) {
+                grams.computeIfAbsent(gram, key -> new ArrayList<>()).add(i);
+            }
+        }
+        Map<String, int[]> postings = new HashMap<>();
+        grams.forEach((gram, list) -> postings.put(gram, list.stream().mapToInt(Integer::intValue).toArray()));
+        this.postings = postings;
+    }
+
+    boolean isReady() {
+        return columns != null && columns.size() > 0;
+    }
+
+    BitSet match(String value) {
+        BitSet matched = new BitSet(lectureNames.length);
+        for (int ordinal : candidates(value)) {
+            if (lectureNames[ordinal].contains(value) || professors[ordinal].contains(value)) {
+                matched.set(ordinal);
+            }
+        }
+        return matched;
+    }
+
+    // 한 문서 안에서 중복 없는 gram 목록
+    private static Set<String> grams(String... texts) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String text : texts) {
+            for (int i = 0; i < text.length(); i++) {
+                result.add(text.substring(i, i + 1));
+                if (i + 2 <= text.length()) {
+                    result.add(text.substring(i, i + 2));
+                }
+            }
+        }
+        return result;
+    }
+
+    // 검색어의 모든 gram 을 포함하는 문서 후보 (gram 이 이름/교수명에 걸쳐 있을 수 있어 이후 contains 로 재검증)
+    private int[] candidates(String value) {
+        if (value.isEmpty()) {
+            int[] all = new int[lectureNames.length];
+            Arrays.setAll(all, i -> i);
+            return all;
+        }
+        List<String> queryGrams = new ArrayList<>();
+        if (value.length() == 1) {
+            queryGrams.add(value);
+        } else {
+            for (int i = 0; i + 2 <= value.length(); i++) {
+                queryGrams.add(value.substring(i, i + 2));
+            }
+        }
+
+        int[] result = null;
+        for (String gram : queryGrams) {
+            int[] posting = postings.get(gram);
+            if (posting == null) {
+                return new int[0];
+            }
+            result = result == null ? posting : intersect(result, posting);
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] left, int[] right) {
+        int[] result = new int[Math.min(left.length, right.length)];
+        int i = 0, j = 0, size = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+}
@@ -0,0 +1,16 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class PopularSearchDto {
+    private String searchValue;
+    private long count;
+
+    public PopularSearchDto(String searchValue, long count) {
+        this.searchValue = searchValue;
+        this.count = count;
+    }
+}
@@ -0,0 +1,19 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class RelatedLecturesDto {
+    private List<LectureResponseDto> sameLectureCode;   // 같은 과목의 다른 분반
+    private List<LectureResponseDto> sameProfessor;
+    private List<LectureResponseDto> similarRating;     // 같은 학과, 비슷한 평점
+
+    public RelatedLecturesDto(List<LectureResponseDto> sameLectureCode, List<LectureResponseDto> sameProfessor,
+                              List<LectureResponseDto> similarRating) {
+        this.sameLectureCode = sameLectureCode;
+        this.sameProfessor = sameProfessor;
+        this.similarRating = similarRating;
+    }
+}
@@ -22,6 +22,7 @@ import usw.suwiki.domain.userIsolation.UserIsolationRepository;
 import usw.suwiki.domain.viewExam.ViewExamService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -72,6 +73,9 @@ public class QuitRequestUserService {
     @Transactional
     public void waitQuit(Long userIdx) {
 
+        // 강의평가 삭제에 필요한 강의 잠금을 다른 쓰기보다 먼저 잡는다
+        evaluatePostsService.lockLecturesOfUsers(List.of(userIdx));
+
         //구매한 시험 정보 삭제
         viewExamService.deleteByUserIdx(userIdx);
 
@@ -96,6 +100,15 @@ public class QuitRequestUserService {
 
         List<UserIsolation> targetUserIsolation = userIsolationRepository.findByRequestedQuitDateBefore(targetTime);
 
+        // 강의평가 삭제에 필요한 강의 잠금을 다른 쓰기보다 먼저 한 번에 잡는다
+        List<Long> targetUserIdxs = new ArrayList<>();
+        if (targetUser.size() > 0) {
+            targetUser.forEach(user -> targetUserIdxs.add(user.getId()));
+        } else {
+            targetUserIsolation.forEach(user -> targetUserIdxs.add(user.getUserIdx()));
+        }
+        evaluatePostsService.lockLecturesOfUsers(targetUserIdxs);
+
         if (targetUser.size() > 0) {
             for (int i = 0; i < targetUser.toArray().length; i++) {
 
@@ -30,6 +30,7 @@ import usw.suwiki.exception.AccountException;
 import usw.suwiki.exception.ErrorType;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -164,6 +165,11 @@ public class SleepingUserService {
         LocalDateTime targetTime = LocalDateTime.now().minusYears(3);
         List<UserIsolation> targetUser = userIsolationRepository.findByLastLoginBefore(targetTime);
 
+        // 강의평가 삭제에 필요한 강의 잠금을 다른 쓰기보다 먼저 한 번에 잡는다
+        List<Long> targetUserIdxs = new ArrayList<>();
+        targetUser.forEach(user -> targetUserIdxs.add(user.getUserIdx()));
+        evaluatePostsService.lockLecturesOfUsers(targetUserIdxs);
+
         for (int i = 0; i < targetUser.toArray().length; i++) {
 
             // 삭제 예정 유저의 구매한 시험 정보 삭제
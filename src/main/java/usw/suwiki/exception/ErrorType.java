@@ -51,11 +51,15 @@ public enum ErrorType {
     //Option error
     INVALID_ORDER_OPTION("OPTION001", "ORDER OPTION을 확인해주세요.", HttpStatus.BAD_REQUEST),
     INVALID_MAJOR_OPTION("OPTION002", "MAJOR OPTION을 확인해주세요.", HttpStatus.BAD_REQUEST),
+    INVALID_CURSOR_OPTION("OPTION003", "CURSOR를 확인해주세요.", HttpStatus.BAD_REQUEST),
+    INVALID_SLOT_OPTION("OPTION004", "시간표 OPTION을 확인해주세요.", HttpStatus.BAD_REQUEST),
+    SLOT_OPTION_NOT_READY("OPTION005", "시간표 검색을 준비 중입니다. 잠시 후 다시 시도해주세요.", HttpStatus.SERVICE_UNAVAILABLE),
 
     //Lecture 400 error
     NOT_EXISTS_LECTURE_NAME("LECTURE001", "강의 제목을 입력해주세요", HttpStatus.BAD_REQUEST),
     NOT_EXISTS_PROFESSOR_NAME("LECTURE002", "교수 이름을 입력해주세요", HttpStatus.BAD_REQUEST),
     NOT_EXISTS_LECTURE("LECTURE003", "해당 강의가 존재하지 않습니다.", HttpStatus.BAD_REQUEST),
+    TOO_MANY_LECTURE_IDS("LECTURE004", "한 번에 조회할 수 있는 강의 수를 초과했습니다.", HttpStatus.BAD_REQUEST),
 
     // Security 401 Error
     UNAUTHENTICATED("SECURITY001", "로그인이 필요한 기능입니다.", HttpStatus.UNAUTHORIZED), //401
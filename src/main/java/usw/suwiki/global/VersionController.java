@@ -5,14 +5,19 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import usw.suwiki.SuwikiVersion;
 import usw.suwiki.global.ToJsonArray;
 import usw.suwiki.global.VersionResponseDto;
 import usw.suwiki.domain.lecture.LectureService;
+import usw.suwiki.domain.lecture.MajorTypeCatalogDto;
+import usw.suwiki.domain.lecture.MajorTypeCountDto;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RequiredArgsConstructor
 @RequestMapping("/suwiki")
@@ -29,11 +34,34 @@ public class VersionController {
         return new ResponseEntity<VersionResponseDto>(dto, header, HttpStatus.valueOf(200));
     }
 
+    // 학과명 목록, 학과명이 같으면 304
     @GetMapping ("/majorType")
-    public ResponseEntity<ToJsonArray> findAllMajorType(){
+    public ResponseEntity<ToJsonArray> findAllMajorType(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        MajorTypeCatalogDto catalog = lectureService.findMajorTypeCatalog();
+        return withETag(catalog.getNameVersion(), ifNoneMatch, () -> {
+            List<String> list = new ArrayList<>();
+            for (MajorTypeCountDto dto : catalog.getMajorTypeList()) {
+                list.add(dto.getMajorType());
+            }
+            return new ToJsonArray(list);
+        });
+    }
+
+    // 학과별 강의 수 포함, version 이 같으면 304
+    @GetMapping ("/majorType/count")
+    public ResponseEntity<MajorTypeCatalogDto> findMajorTypeCatalog(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        MajorTypeCatalogDto catalog = lectureService.findMajorTypeCatalog();
+        return withETag(catalog.getVersion(), ifNoneMatch, () -> catalog);
+    }
+
+    // version 을 ETag 로 내려주고, 클라이언트가 가진 ETag 와 같으면 본문 없이 304
+    private <T> ResponseEntity<T> withETag(String version, String ifNoneMatch, Supplier<T> body){
         HttpHeaders header = new HttpHeaders();
-        List<String> list = lectureService.findAllMajorType();
-        ToJsonArray data = new ToJsonArray(list);
-        return new ResponseEntity<ToJsonArray>(data, header, HttpStatus.valueOf(200));
+        String eTag = "\"" + version + "\"";
+        header.setETag(eTag);
+        if (ifNoneMatch != null && ifNoneMatch.contains(eTag)) {
+            return new ResponseEntity<T>(header, HttpStatus.NOT_MODIFIED);
+        }
+        return new ResponseEntity<T>(body.get(), header, HttpStatus.valueOf(200));
     }
 }
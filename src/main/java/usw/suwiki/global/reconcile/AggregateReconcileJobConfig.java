@@ -0,0 +1,214 @@
+package usw.suwiki.global.reconcile;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.PagingQueryProvider;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
+import org.springframework.batch.item.database.support.SqlPagingQueryProviderFactoryBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import usw.suwiki.domain.lecture.LectureDetailCache;
+import usw.suwiki.domain.lecture.LectureIndexManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * 강의 평점 합계/평가 수, 평점 분포와 사용자 작성 수를 evaluate_posts, exam_posts 에서 다시 집계해 어긋난 값만 고치는 Job.
+ * 집계는 id 순 페이지 단위로 읽고 (읽은 위치는 Step 실행 컨텍스트에 저장되어 실패한 Job 을 이어서 실행할 수 있다),
+ * 보정은 JDBC batch 로 쓴다. 읽은 뒤 값이 바뀐 행은 조건에 걸려 고치지 않고 다음 실행으로 넘긴다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class AggregateReconcileJobConfig {
+
+    public static final String JOB_NAME = "aggregateReconcileJob";
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String LECTURE_AGGREGATE_FROM = "(SELECT l.id, l.modified_date,"
+            + " l.posts_count AS stored_posts_count,"
+            + " l.lecture_satisfaction_value AS stored_satisfaction, l.lecture_honey_value AS stored_honey,"
+            + " l.lecture_learning_value AS stored_learning, l.lecture_team_value AS stored_team,"
+            + " l.lecture_difficulty_value AS stored_difficulty, l.lecture_homework_value AS stored_homework,"
+            + " COALESCE(p.posts_count, 0) AS posts_count,"
+            + " COALESCE(p.satisfaction, 0) AS satisfaction, COALESCE(p.honey, 0) AS honey,"
+            + " COALESCE(p.learning, 0) AS learning, COALESCE(p.team, 0) AS team,"
+            + " COALESCE(p.difficulty, 0) AS difficulty, COALESCE(p.homework, 0) AS homework"
+            + " FROM lecture l LEFT JOIN (SELECT lecture_id, COUNT(*) AS posts_count,"
+            + " SUM(satisfaction) AS satisfaction, SUM(honey) AS honey, SUM(learning) AS learning,"
+            + " SUM(team) AS team, SUM(difficulty) AS difficulty, SUM(homework) AS homework"
+            + " FROM evaluate_posts GROUP BY lecture_id) p ON p.lecture_id = l.id) lecture_aggregate";
+
+    // 반영 대기 중인 평점 변화량이 있는 강의는 곧 바뀌므로 건드리지 않는다
+    private static final String LECTURE_CORRECTION_SQL = "UPDATE lecture SET"
+            + " lecture_satisfaction_value = :satisfaction, lecture_honey_value = :honey,"
+            + " lecture_learning_value = :learning, lecture_team_value = :team,"
+            + " lecture_difficulty_value = :difficulty, lecture_homework_value = :homework,"
+            + " posts_count = :postsCount,"
+            + " lecture_satisfaction_avg = :satisfactionAvg, lecture_honey_avg = :honeyAvg,"
+            + " lecture_learning_avg = :learningAvg, lecture_team_avg = :teamAvg,"
+            + " lecture_difficulty_avg = :difficultyAvg, lecture_homework_avg = :homeworkAvg,"
+            + " lecture_total_avg = :totalAvg"
+            + " WHERE id = :id AND posts_count = :storedPostsCount"
+            + " AND (modified_date = :modifiedDate OR (modified_date IS NULL AND :modifiedDate IS NULL))"
+            + " AND NOT EXISTS (SELECT 1 FROM lecture_rating_delta d WHERE d.lecture_id = :id)";
+
+    private static final String USER_COUNTER_FROM = "(SELECT u.id,"
+            + " COALESCE(u.written_evaluation, 0) AS stored_written_evaluation,"
+            + " COALESCE(u.written_exam, 0) AS stored_written_exam,"
+            + " COALESCE(e.written, 0) AS written_evaluation, COALESCE(x.written, 0) AS written_exam"
+            + " FROM user u"
+            + " LEFT JOIN (SELECT user_idx, COUNT(*) AS written FROM evaluate_posts GROUP BY user_idx) e ON e.user_idx = u.id"
+            + " LEFT JOIN (SELECT user_idx, COUNT(*) AS written FROM exam_posts GROUP BY user_idx) x ON x.user_idx = u.id) user_counter";
+
+    private static final String USER_CORRECTION_SQL = "UPDATE user SET"
+            + " written_evaluation = :writtenEvaluation, written_exam = :writtenExam"
+            + " WHERE id = :id AND COALESCE(written_evaluation, 0) = :storedWrittenEvaluation"
+            + " AND COALESCE(written_exam, 0) = :storedWrittenExam";
+
+    private final JobBuilderFactory jobBuilderFactory;
+    private final StepBuilderFactory stepBuilderFactory;
+    private final DataSource dataSource;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final LectureDetailCache lectureDetailCache;
+    private final LectureIndexManager lectureIndexManager;
+
+    @Bean
+    public Job aggregateReconcileJob() {
+        return jobBuilderFactory.get(JOB_NAME)
+                .start(lectureAggregateReconcileStep())
+                .next(lectureHistogramReconcileStep())
+                .next(userCounterReconcileStep())
+                .build();
+    }
+
+    @Bean
+    public Step lectureAggregateReconcileStep() {
+        LectureAggregateListener listener = new LectureAggregateListener(lectureDetailCache, lectureIndexManager);
+        return stepBuilderFactory.get("lectureAggregateReconcileStep")
+                .<LectureAggregate, LectureAggregate>chunk(CHUNK_SIZE)
+                .reader(lectureAggregateReader())
+                .processor(driftedOnly(LectureAggregate::isDrifted))
+                .writer(lectureCorrectionWriter())
+                .listener((ItemWriteListener<LectureAggregate>) listener)
+                .listener((StepExecutionListener) listener)
+                .listener(new ReconcileThroughputListener())
+                .build();
+    }
+
+    // 평점 분포는 chunk 단위로 한 번에 다시 세어 writer 에서 비교하고 고친다. 분포가 비어 있는 기존 강의도 이 Step 에서 채워진다
+    @Bean
+    public Step lectureHistogramReconcileStep() {
+        LectureHistogramWriter writer = new LectureHistogramWriter(jdbcTemplate, lectureDetailCache);
+        return stepBuilderFactory.get("lectureHistogramReconcileStep")
+                .<LectureHistogram, LectureHistogram>chunk(CHUNK_SIZE)
+                .reader(lectureHistogramReader())
+                .writer(writer)
+                .listener((StepExecutionListener) writer)
+                .listener(new ReconcileThroughputListener())
+                .build();
+    }
+
+    @Bean
+    public Step userCounterReconcileStep() {
+        return stepBuilderFactory.get("userCounterReconcileStep")
+                .<UserCounter, UserCounter>chunk(CHUNK_SIZE)
+                .reader(userCounterReader())
+                .processor(driftedOnly(UserCounter::isDrifted))
+                .writer(userCorrectionWriter())
+                .listener(new ReconcileThroughputListener())
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public JdbcPagingItemReader<LectureAggregate> lectureAggregateReader() {
+        return new JdbcPagingItemReaderBuilder<LectureAggregate>()
+                .name("lectureAggregateReader")
+                .dataSource(dataSource)
+                .queryProvider(pagingQueryProvider(LECTURE_AGGREGATE_FROM))
+                .pageSize(CHUNK_SIZE)
+                .rowMapper(LectureAggregate::of)
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public JdbcPagingItemReader<LectureHistogram> lectureHistogramReader() {
+        return new JdbcPagingItemReaderBuilder<LectureHistogram>()
+                .name("lectureHistogramReader")
+                .dataSource(dataSource)
+                .queryProvider(pagingQueryProvider("id, modified_date", "lecture"))
+                .pageSize(CHUNK_SIZE)
+                .rowMapper((rs, rowNum) -> new LectureHistogram(rs.getLong("id"), rs.getTimestamp("modified_date")))
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public JdbcPagingItemReader<UserCounter> userCounterReader() {
+        return new JdbcPagingItemReaderBuilder<UserCounter>()
+                .name("userCounterReader")
+                .dataSource(dataSource)
+                .queryProvider(pagingQueryProvider(USER_COUNTER_FROM))
+                .pageSize(CHUNK_SIZE)
+                .rowMapper(UserCounter::of)
+                .build();
+    }
+
+    // 조건이 맞지 않아 0건 갱신된 행은 다음 실행에서 다시 비교하므로 실패로 보지 않는다
+    @Bean
+    public JdbcBatchItemWriter<LectureAggregate> lectureCorrectionWriter() {
+        return new JdbcBatchItemWriterBuilder<LectureAggregate>()
+                .dataSource(dataSource)
+                .sql(LECTURE_CORRECTION_SQL)
+                .itemSqlParameterSourceProvider(LectureAggregate::toParameters)
+                .assertUpdates(false)
+                .build();
+    }
+
+    @Bean
+    public JdbcBatchItemWriter<UserCounter> userCorrectionWriter() {
+        return new JdbcBatchItemWriterBuilder<UserCounter>()
+                .dataSource(dataSource)
+                .sql(USER_CORRECTION_SQL)
+                .itemSqlParameterSourceProvider(UserCounter::toParameters)
+                .assertUpdates(false)
+                .build();
+    }
+
+    // 저장된 값과 같은 행은 걸러 writer 로 넘기지 않는다 (filterCount 로 집계)
+    private static <T> ItemProcessor<T, T> driftedOnly(Predicate<T> drifted) {
+        return item -> drifted.test(item) ? item : null;
+    }
+
+    private PagingQueryProvider pagingQueryProvider(String fromClause) {
+        return pagingQueryProvider("*", fromClause);
+    }
+
+    private PagingQueryProvider pagingQueryProvider(String selectClause, String fromClause) {
+        SqlPagingQueryProviderFactoryBean factory = new SqlPagingQueryProviderFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setSelectClause(selectClause);
+        factory.setFromClause(fromClause);
+        factory.setSortKeys(Map.of("id", Order.ASCENDING));
+        try {
+            return factory.getObject();
+        } catch (Exception e) {
+            throw new IllegalStateException("페이징 쿼리를 만들 수 없습니다", e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package usw.suwiki.global.reconcile;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import usw.suwiki.config.BatchConfig;
+
+import java.time.LocalDate;
+
+// 날짜를 Job 파라미터로 하루 한 번 실행한다. 5시 실행이 실패했으면 6시에 같은 파라미터로 실패한 위치부터 이어서 실행한다
+// 서버 시작 시에도 오늘 실행되지 않았으면 실행해 비어 있는 평점 분포를 채운다. Job 은 BatchConfig 의 전용 스레드에서 돈다
+@Slf4j
+@Component
+public class AggregateReconcileScheduler {
+
+    private final JobLauncher jobLauncher;
+    private final Job aggregateReconcileJob;
+
+    public AggregateReconcileScheduler(@Qualifier(BatchConfig.ASYNC_JOB_LAUNCHER) JobLauncher jobLauncher,
+                                       @Qualifier(AggregateReconcileJobConfig.JOB_NAME) Job aggregateReconcileJob) {
+        this.jobLauncher = jobLauncher;
+        this.aggregateReconcileJob = aggregateReconcileJob;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void runOnStartup() {
+        run();
+    }
+
+    @Scheduled(cron = "0 0 5,6 * * *")
+    public synchronized void run() {
+        try {
+            jobLauncher.run(aggregateReconcileJob, new JobParametersBuilder()
+                    .addString("date", LocalDate.now().toString())
+                    .toJobParameters());
+        } catch (JobInstanceAlreadyCompleteException e) {
+            log.debug("aggregateReconcileJob 은 오늘 이미 완료됨");
+        } catch (Exception e) {
+            log.error("aggregateReconcileJob 실행 실패", e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package usw.suwiki.global.reconcile;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * 강의에 저장된 평점 합계/평가 수와 evaluate_posts 에서 다시 계산한 값.
+ * 합계는 float 으로 더해 오므로 EPSILON 이하의 차이는 같은 값으로 본다.
+ */
+class LectureAggregate {
+
+    static final String[] METRICS = {"satisfaction", "honey", "learning", "team", "difficulty", "homework"};
+    private static final double EPSILON = 1e-3;
+
+    private final long id;
+    private final Timestamp modifiedDate;
+    private final int storedPostsCount;
+    private final double[] storedValues = new double[METRICS.length];
+    private final int postsCount;
+    private final double[] values = new double[METRICS.length];
+
+    private LectureAggregate(ResultSet rs) throws SQLException {
+        this.id = rs.getLong("id");
+        this.modifiedDate = rs.getTimestamp("modified_date");
+        this.storedPostsCount = rs.getInt("stored_posts_count");
+        this.postsCount = rs.getInt("posts_count");
+        for (int i = 0; i < METRICS.length; i++) {
+            storedValues[i] = rs.getDouble("stored_" + METRICS[i]);
+            values[i] = rs.getDouble(METRICS[i]);
+        }
+    }
+
+    static LectureAggregate of(ResultSet rs, int rowNum) throws SQLException {
+        return new LectureAggregate(rs);
+    }
+
+    long getId() {
+        return id;
+    }
+
+    boolean isDrifted() {
+        if (storedPostsCount != postsCount) {
+            return true;
+        }
+        for (int i = 0; i < METRICS.length; i++) {
+            if (Math.abs(storedValues[i] - values[i]) > EPSILON) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 평균은 Lecture 와 같은 방식(합계 / 평가 수, 전체 = 만족도·꿀강·배움 평균의 평균)으로 계산한다
+    SqlParameterSource toParameters() {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("modifiedDate", modifiedDate)
+                .addValue("storedPostsCount", storedPostsCount)
+                .addValue("postsCount", postsCount);
+        float[] averages = new float[METRICS.length];
+        for (int i = 0; i < METRICS.length; i++) {
+            float value = (float) values[i];
+            averages[i] = postsCount < 1 ? 0 : value / postsCount;
+            parameters.addValue(METRICS[i], value);
+            parameters.addValue(METRICS[i] + "Avg", averages[i]);
+        }
+        parameters.addValue("totalAvg", postsCount < 1 ? 0 : (averages[0] + averages[1] + averages[2]) / 3);
+        return parameters;
+    }
+}
@@ -0,0 +1,49 @@
+package usw.suwiki.global.reconcile;
+
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import usw.suwiki.domain.lecture.LectureDetailCache;
+import usw.suwiki.domain.lecture.LectureIndexManager;
+
+import java.util.List;
+
+// 보정된 강의는 상세 캐시에서 지우고, 하나라도 보정되었으면 Step 이 끝난 뒤 메모리 색인을 다시 만든다
+class LectureAggregateListener implements ItemWriteListener<LectureAggregate>, StepExecutionListener {
+
+    private final LectureDetailCache lectureDetailCache;
+    private final LectureIndexManager lectureIndexManager;
+
+    LectureAggregateListener(LectureDetailCache lectureDetailCache, LectureIndexManager lectureIndexManager) {
+        this.lectureDetailCache = lectureDetailCache;
+        this.lectureIndexManager = lectureIndexManager;
+    }
+
+    @Override
+    public void beforeWrite(List<? extends LectureAggregate> items) {
+    }
+
+    @Override
+    public void afterWrite(List<? extends LectureAggregate> items) {
+        for (LectureAggregate item : items) {
+            lectureDetailCache.evict(item.getId());
+        }
+    }
+
+    @Override
+    public void onWriteError(Exception exception, List<? extends LectureAggregate> items) {
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (stepExecution.getWriteCount() > 0) {
+            lectureIndexManager.rebuild();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,40 @@
+package usw.suwiki.global.reconcile;
+
+import usw.suwiki.domain.lecture.LectureRatingHistogram;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+
+// 강의에 저장된 평점 분포 구간(lecture_rating_bucket)과 evaluate_posts 에서 다시 센 분포. 두 값은 LectureHistogramWriter 가 채운다
+class LectureHistogram {
+
+    private final long id;
+    private final Timestamp modifiedDate;
+    private final int[] stored = new int[LectureRatingHistogram.SIZE];
+    private final int[] counts = new int[LectureRatingHistogram.SIZE];
+
+    LectureHistogram(long id, Timestamp modifiedDate) {
+        this.id = id;
+        this.modifiedDate = modifiedDate;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    Timestamp getModifiedDate() {
+        return modifiedDate;
+    }
+
+    int[] getStored() {
+        return stored;
+    }
+
+    int[] getCounts() {
+        return counts;
+    }
+
+    boolean isDrifted() {
+        return !Arrays.equals(stored, counts);
+    }
+}
@@ -0,0 +1,137 @@
+package usw.suwiki.global.reconcile;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import usw.suwiki.domain.lecture.LectureDetailCache;
+import usw.suwiki.domain.lecture.LectureRatingHistogram;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * chunk 의 강의들의 평점 분포를 evaluate_posts 에서 한 번에 다시 세어 (IN + GROUP BY) 저장된 구간과 비교하고, 어긋난 강의만 고친다.
+ * 읽은 뒤 평점이 반영되지 않은(modified_date 그대로, 대기 변화량 없음) 강의 행을 먼저 잠가 두고, 그 강의만 구간을 지우고 다시 넣는다.
+ * 평점 반영도 강의 행을 먼저 갱신하므로 두 쪽이 같은 순서로 잠근다.
+ */
+@Slf4j
+class LectureHistogramWriter implements ItemWriter<LectureHistogram>, StepExecutionListener {
+
+    private static final String COUNT_SQL = "SELECT lecture_id, satisfaction, learning, honey, team, difficulty, homework,"
+            + " COUNT(*) AS posts_count FROM evaluate_posts WHERE lecture_id IN (:ids)"
+            + " GROUP BY lecture_id, satisfaction, learning, honey, team, difficulty, homework";
+
+    private static final String STORED_SQL = "SELECT lecture_id, bucket, posts_count FROM lecture_rating_bucket WHERE lecture_id IN (:ids)";
+
+    private static final String CLAIM_SQL = "UPDATE lecture SET modified_date = modified_date"
+            + " WHERE id = :id AND (modified_date = :modifiedDate OR (modified_date IS NULL AND :modifiedDate IS NULL))"
+            + " AND NOT EXISTS (SELECT 1 FROM lecture_rating_delta d WHERE d.lecture_id = :id)";
+
+    private static final String DELETE_SQL = "DELETE FROM lecture_rating_bucket WHERE lecture_id IN (:ids)";
+
+    private static final String INSERT_SQL = "INSERT INTO lecture_rating_bucket (lecture_id, bucket, posts_count)"
+            + " VALUES (:lectureId, :bucket, :count)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final LectureDetailCache lectureDetailCache;
+
+    private long corrected;
+
+    LectureHistogramWriter(NamedParameterJdbcTemplate jdbcTemplate, LectureDetailCache lectureDetailCache) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lectureDetailCache = lectureDetailCache;
+    }
+
+    @Override
+    public void write(List<? extends LectureHistogram> items) {
+        List<LectureHistogram> drifted = findDrifted(items);
+        if (drifted.isEmpty()) {
+            return;
+        }
+
+        SqlParameterSource[] claims = new SqlParameterSource[drifted.size()];
+        for (int i = 0; i < drifted.size(); i++) {
+            claims[i] = new MapSqlParameterSource()
+                    .addValue("id", drifted.get(i).getId())
+                    .addValue("modifiedDate", drifted.get(i).getModifiedDate());
+        }
+        int[] claimed = jdbcTemplate.batchUpdate(CLAIM_SQL, claims);
+
+        List<Long> ids = new ArrayList<>();
+        List<SqlParameterSource> buckets = new ArrayList<>();
+        for (int i = 0; i < drifted.size(); i++) {
+            if (claimed[i] == 0) {
+                continue;
+            }
+            LectureHistogram item = drifted.get(i);
+            ids.add(item.getId());
+            int[] counts = item.getCounts();
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                if (counts[bucket] != 0) {
+                    buckets.add(new MapSqlParameterSource()
+                            .addValue("lectureId", item.getId())
+                            .addValue("bucket", bucket)
+                            .addValue("count", counts[bucket]));
+                }
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(DELETE_SQL, new MapSqlParameterSource("ids", ids));
+        jdbcTemplate.batchUpdate(INSERT_SQL, buckets.toArray(new SqlParameterSource[0]));
+        for (Long id : ids) {
+            lectureDetailCache.evict(id);
+        }
+        corrected += ids.size();
+    }
+
+    // chunk 전체를 다시 센 값과 저장된 값을 각각 쿼리 한 번으로 읽는다
+    private List<LectureHistogram> findDrifted(List<? extends LectureHistogram> items) {
+        Map<Long, LectureHistogram> byId = new HashMap<>();
+        for (LectureHistogram item : items) {
+            byId.put(item.getId(), item);
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource("ids", new ArrayList<>(byId.keySet()));
+        jdbcTemplate.query(COUNT_SQL, parameters, rs -> {
+            int[] counts = byId.get(rs.getLong("lecture_id")).getCounts();
+            int postsCount = rs.getInt("posts_count");
+            for (int metric = 0; metric < LectureRatingHistogram.METRICS.size(); metric++) {
+                counts[LectureRatingHistogram.index(metric, rs.getFloat(metric + 2))] += postsCount;
+            }
+        });
+        jdbcTemplate.query(STORED_SQL, parameters, rs -> {
+            int[] stored = byId.get(rs.getLong("lecture_id")).getStored();
+            int bucket = rs.getInt("bucket");
+            if (bucket >= 0 && bucket < stored.length) {
+                stored[bucket] = rs.getInt("posts_count");
+            }
+        });
+
+        List<LectureHistogram> drifted = new ArrayList<>();
+        for (LectureHistogram item : items) {
+            if (item.isDrifted()) {
+                drifted.add(item);
+            }
+        }
+        return drifted;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        this.corrected = 0;
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        log.info("{}: 평점 분포 보정 {}", stepExecution.getStepName(), corrected);
+        return null;
+    }
+}
@@ -0,0 +1,25 @@
+package usw.suwiki.global.reconcile;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+
+// Step 이 끝나면 읽은 행, 보정한 행, 초당 처리량을 남긴다
+@Slf4j
+class ReconcileThroughputListener implements StepExecutionListener {
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        long millis = Math.max(1, System.currentTimeMillis() - stepExecution.getStartTime().getTime());
+        log.info("{} {}: 읽음 {}, 보정 {}, 건너뜀 {}, {}ms ({} rows/s)",
+                stepExecution.getStepName(), stepExecution.getExitStatus().getExitCode(),
+                stepExecution.getReadCount(), stepExecution.getWriteCount(), stepExecution.getFilterCount(),
+                millis, stepExecution.getReadCount() * 1000L / millis);
+        return null;
+    }
+}
@@ -0,0 +1,42 @@
+package usw.suwiki.global.reconcile;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// 사용자에 저장된 작성 수(writtenEvaluation, writtenExam)와 evaluate_posts / exam_posts 에서 센 값
+class UserCounter {
+
+    private final long id;
+    private final int storedWrittenEvaluation;
+    private final int storedWrittenExam;
+    private final int writtenEvaluation;
+    private final int writtenExam;
+
+    private UserCounter(ResultSet rs) throws SQLException {
+        this.id = rs.getLong("id");
+        this.storedWrittenEvaluation = rs.getInt("stored_written_evaluation");
+        this.storedWrittenExam = rs.getInt("stored_written_exam");
+        this.writtenEvaluation = rs.getInt("written_evaluation");
+        this.writtenExam = rs.getInt("written_exam");
+    }
+
+    static UserCounter of(ResultSet rs, int rowNum) throws SQLException {
+        return new UserCounter(rs);
+    }
+
+    boolean isDrifted() {
+        return storedWrittenEvaluation != writtenEvaluation || storedWrittenExam != writtenExam;
+    }
+
+    SqlParameterSource toParameters() {
+        return new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("storedWrittenEvaluation", storedWrittenEvaluation)
+                .addValue("storedWrittenExam", storedWrittenExam)
+                .addValue("writtenEvaluation", writtenEvaluation)
+                .addValue("writtenExam", writtenExam);
+    }
+}
@@ -3,12 +3,15 @@ package usw.suwiki.global.util;
 import usw.suwiki.domain.lecture.JsonToLectureDto;
 import usw.suwiki.domain.lecture.Lecture;
 import usw.suwiki.domain.lecture.JpaLectureRepository;
+import usw.suwiki.domain.lecture.LectureIndexManager;
 import lombok.RequiredArgsConstructor;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import usw.suwiki.domain.lecture.LectureRepository;
 
 import javax.transaction.Transactional;
@@ -22,6 +25,7 @@ import java.io.Reader;
 public class JsonToDataTable {
 
     private final LectureRepository lectureRepository;
+    private final LectureIndexManager lectureIndexManager;
 
     //이상한 강의명 예외 처리 로직.
     private JsonToLectureDto handleLectureNameException(JsonToLectureDto dto) {
@@ -105,9 +109,7 @@ public class JsonToDataTable {
                 Lecture lecture = lectureRepository.verifyJsonLecture(dto.getLectureName(), dto.getProfessor(), dto.getMajorType());
 
                 if (lecture != null) {
-                    if (!lecture.getSemesterList().contains(dto.getSelectedSemester())) {
-                        String updateString = lecture.getSemesterList() + ", " + dto.getSelectedSemester();
-                        lecture.setSemester(updateString);  //refactoring 필요
+                    if (lecture.addSemester(dto.getSelectedSemester())) {
                         lectureRepository.save(lecture);
                     }
                 }
@@ -119,5 +121,13 @@ public class JsonToDataTable {
                 }
             }
         }
+
+        // 새로 등록된 강의를 검색 색인에 반영. 롤백되면 색인은 그대로 둔다
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lectureIndexManager.rebuild();
+            }
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package usw.suwiki.domain.lecture;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IntIntHashMapTest {
+
+    @Test
+    void addTo_는_없으면_넣고_있으면_더한다() {
+        IntIntHashMap map = new IntIntHashMap();
+
+        assertThat(map.addTo(7, 3)).isEqualTo(3);
+        assertThat(map.addTo(7, -5)).isEqualTo(-2);
+        assertThat(map.get(7, 0)).isEqualTo(-2);
+        assertThat(map.get(8, -1)).isEqualTo(-1);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void putIfAbsent_는_기존_값을_유지한다() {
+        IntIntHashMap map = new IntIntHashMap();
+
+        assertThat(map.putIfAbsent(1, 10)).isEqualTo(10);
+        assertThat(map.putIfAbsent(1, 20)).isEqualTo(10);
+        assertThat(map.get(1, 0)).isEqualTo(10);
+    }
+
+    @Test
+    void 키_0_은_넣을_수_없고_조회하면_기본값() {
+        IntIntHashMap map = new IntIntHashMap();
+        map.addTo(1, 1);
+
+        assertThatThrownBy(() -> map.addTo(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> map.putIfAbsent(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(map.get(0, -1)).isEqualTo(-1);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void 늘어나도_모든_값을_유지한다() {
+        IntIntHashMap map = new IntIntHashMap(1);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int key = 1; key <= 10_000; key++) {
+            map.addTo(key, key % 7);
+            expected.merge(key, key % 7, Integer::sum);
+        }
+
+        assertEqual(map, expected);
+    }
+
+    // 하위 비트가 같은 키, 음수 키를 섞어 같은 칸에서 출발하는 탐색을 만든다
+    @Test
+    void 충돌하는_키도_구분한다() {
+        IntIntHashMap map = new IntIntHashMap(4);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(20220301L);
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextBoolean() ? (random.nextInt(64) + 1) << 16 : -(random.nextInt(2_000) + 1);
+            map.addTo(key, 1);
+            expected.merge(key, 1, Integer::sum);
+        }
+
+        assertEqual(map, expected);
+    }
+
+    private static void assertEqual(IntIntHashMap map, Map<Integer, Integer> expected) {
+        assertThat(map.size()).isEqualTo(expected.size());
+        expected.forEach((key, value) -> assertThat(map.get(key, Integer.MIN_VALUE)).isEqualTo(value));
+        Map<Integer, Integer> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertThat(visited).isEqualTo(expected);
+    }
+}
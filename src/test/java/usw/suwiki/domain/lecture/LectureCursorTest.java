@@ -0,0 +1,70 @@
+package usw.suwiki.domain.lecture;
+
+import org.junit.jupiter.api.Test;
+import usw.suwiki.exception.AccountException;
+import usw.suwiki.exception.ErrorType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LectureCursorTest {
+
+    @Test
+    void 수정_시각_커서_왕복() {
+        LocalDateTime modifiedDate = LocalDateTime.of(2022, 3, 2, 10, 15, 30, 123_456_000);
+        String encoded = LectureCursor.of("modifiedDate", modifiedDate, 42).encode();
+
+        LectureCursor decoded = LectureCursor.decode(encoded, "modifiedDate");
+
+        assertThat(decoded.getId()).isEqualTo(42);
+        assertThat(decoded.hasModifiedDate()).isTrue();
+        assertThat(decoded.getModifiedDate()).isEqualTo(modifiedDate);
+    }
+
+    @Test
+    void 평점_커서_왕복() {
+        String encoded = LectureCursor.of("lectureTotalAvg", 3.7f, 7).encode();
+
+        LectureCursor decoded = LectureCursor.decode(encoded, "lectureTotalAvg");
+
+        assertThat((float) decoded.getOrderValue()).isEqualTo(3.7f);
+        assertThat(decoded.getId()).isEqualTo(7);
+    }
+
+    @Test
+    void 수정_시각이_없는_강의의_커서() {
+        String encoded = LectureCursor.of("modifiedDate", null, 3).encode();
+
+        LectureCursor decoded = LectureCursor.decode(encoded, "modifiedDate");
+
+        assertThat(decoded.hasModifiedDate()).isFalse();
+        assertThat(decoded.getModifiedDate()).isNull();
+        assertThat(decoded.getId()).isEqualTo(3);
+    }
+
+    @Test
+    void 조작된_커서는_INVALID_CURSOR_OPTION() {
+        String[] cursors = {
+                "!!!",
+                encode("modifiedDate:1.0E30:1"),
+                encode("modifiedDate:-1.0E30:1"),
+                encode("modifiedDate:NaN:1"),
+                encode("lectureTotalAvg:Infinity:1"),
+                encode("modifiedDate:1.0:abc"),
+                encode("modifiedDate:1.0"),
+                encode("lectureTotalAvg:1.0:1")};
+        for (String cursor : cursors) {
+            assertThatThrownBy(() -> LectureCursor.decode(cursor, "modifiedDate"))
+                    .isInstanceOf(AccountException.class)
+                    .extracting("errorType").isEqualTo(ErrorType.INVALID_CURSOR_OPTION);
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
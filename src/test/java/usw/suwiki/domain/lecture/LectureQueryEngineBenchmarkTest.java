@@ -0,0 +1,126 @@
+package usw.suwiki.domain.lecture;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import usw.suwiki.config.QuerydslConfig;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * LectureQueryEngine 과 이전 문자열 JPQL 경로(정렬 컬럼을 String.format 으로 붙이고 엔티티 전체를 조회)를 같은 데이터로 비교한다.
+ * 결과가 같은지 확인하고 정렬 옵션별 평균 실행 시간을 로그로 남긴다. (H2 기준이라 절대값보다 두 경로의 차이를 본다)
+ * 두 경로 모두 매번 COUNT 까지 조회하도록 엔진 쪽 개수 캐시는 측정마다 비운다. 기본 test 에서 제외되며 ./gradlew benchmark 로 실행한다.
+ */
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+@Import({QuerydslConfig.class, LectureQueryEngine.class, LectureCountCache.class})
+class LectureQueryEngineBenchmarkTest {
+
+    private static final int LECTURES = 2_000;
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 200;
+    private static final String SEARCH_VALUE = "데이터";
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private LectureQueryEngine lectureQueryEngine;
+
+    @Autowired
+    private LectureCountCache lectureCountCache;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= LECTURES; i++) {
+            Lecture lecture = Lecture.builder()
+                    .lectureName(i % 4 == 0 ? "데이터베이스" + i : "운영체제" + i)
+                    .professor("교수" + (i % 50))
+                    .majorType("컴퓨터SW")
+                    .semesterList("2022-1")
+                    .lectureType("전핵")
+                    .build();
+            ReflectionTestUtils.setField(lecture, "lectureTotalAvg", (i % 9) / 2f);
+            ReflectionTestUtils.setField(lecture, "lectureSatisfactionAvg", (i % 7) / 2f);
+            ReflectionTestUtils.setField(lecture, "lectureHoneyAvg", (i % 5) / 2f);
+            ReflectionTestUtils.setField(lecture, "lectureLearningAvg", (i % 3) / 2f);
+            em.persist(lecture);
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void 정렬_옵션별로_이전_경로와_같은_페이지를_조회한다() {
+        for (String orderOption : LectureFindOption.ORDER_OPTIONS) {
+            LectureFindOption option = LectureFindOption.builder()
+                    .orderOption(Optional.of(orderOption))
+                    .pageNumber(Optional.of(2))
+                    .majorType(Optional.empty())
+                    .build();
+
+            LectureListAndCountDto expected = previous(orderOption, 2);
+            LectureListAndCountDto actual = engine(option);
+            assertThat(ids(actual)).hasSize(LectureFindOption.PAGE_SIZE).containsExactlyElementsOf(ids(expected));
+            assertThat(actual.getCount()).isEqualTo(expected.getCount());
+
+            double previousMicros = measure(() -> previous(orderOption, 2));
+            double engineMicros = measure(() -> engine(option));
+            log.info("[lecture query] {}: string JPQL {}us, QueryDSL {}us", orderOption,
+                    String.format("%.1f", previousMicros), String.format("%.1f", engineMicros));
+        }
+    }
+
+    // 캐시된 개수를 쓰지 않도록 매번 비우고 조회
+    private LectureListAndCountDto engine(LectureFindOption option) {
+        lectureCountCache.invalidateAll();
+        return lectureQueryEngine.findLectureList(SEARCH_VALUE, option);
+    }
+
+    // QueryDSL 전환 이전 JpaLectureRepository.findLectureByFindOption 의 페이지 + COUNT 조회
+    private LectureListAndCountDto previous(String orderOption, int pageNumber) {
+        String query = String.format("SELECT l FROM Lecture l WHERE (l.lectureName LIKE CONCAT('%%',UPPER(:value),'%%') "
+                + "OR l.professor LIKE CONCAT('%%',UPPER(:value),'%%')) ORDER BY l.%s DESC, l.id DESC", orderOption);
+        List<Lecture> lectures = em.createQuery(query, Lecture.class)
+                .setParameter("value", SEARCH_VALUE)
+                .setFirstResult((pageNumber - 1) * LectureFindOption.PAGE_SIZE)
+                .setMaxResults(LectureFindOption.PAGE_SIZE)
+                .getResultList();
+        Long count = em.createQuery("SELECT COUNT(l) FROM Lecture l WHERE l.lectureName LIKE CONCAT('%',UPPER(:value),'%') "
+                        + "OR l.professor LIKE CONCAT('%',UPPER(:value),'%')", Long.class)
+                .setParameter("value", SEARCH_VALUE)
+                .getSingleResult();
+        em.clear();
+        List<LectureResponseDto> lectureList = lectures.stream().map(LectureResponseDto::new).collect(Collectors.toList());
+        return LectureListAndCountDto.builder().lectureList(lectureList).count(count).build();
+    }
+
+    private static List<Long> ids(LectureListAndCountDto dto) {
+        return dto.getLectureList().stream().map(LectureResponseDto::getId).collect(Collectors.toList());
+    }
+
+    // 평균 실행 시간 (마이크로초)
+    private double measure(Supplier<?> query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            query.get();
+        }
+        return (System.nanoTime() - start) / 1000.0 / ITERATIONS;
+    }
+}
@@ -0,0 +1,102 @@
+package usw.suwiki.domain.lecture;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LectureReadModelTest {
+
+    private static final int LECTURES = 35;
+
+    @Test
+    void 같은_평점은_id_내림차순으로_커서를_이어간다() {
+        List<Lecture> lectures = new ArrayList<>();
+        for (long id = 1; id <= LECTURES; id++) {
+            // 평점 3 가지로 동점을 많이 만든다
+            lectures.add(lecture(id, (id % 3) + 1.5f, LocalDateTime.of(2022, 3, 1, 0, 0).plusMinutes(id)));
+        }
+        List<Long> expected = lectures.stream()
+                .sorted(Comparator.comparing(Lecture::getLectureTotalAvg).reversed()
+                        .thenComparing(Comparator.comparing(Lecture::getId).reversed()))
+                .map(Lecture::getId)
+                .collect(Collectors.toList());
+
+        assertThat(readAll(lectures, "lectureTotalAvg")).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void 수정_시각이_없는_강의는_맨_뒤에서_id_내림차순() {
+        List<Lecture> lectures = new ArrayList<>();
+        for (long id = 1; id <= LECTURES; id++) {
+            LocalDateTime modifiedDate = id % 4 == 0 ? null : LocalDateTime.of(2022, 3, 1, 0, 0).plusSeconds(id % 5);
+            lectures.add(lecture(id, 0, modifiedDate));
+        }
+        List<Long> expected = lectures.stream()
+                .sorted(Comparator.comparing(Lecture::getModifiedDate, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder())).reversed()
+                        .thenComparing(Comparator.comparing(Lecture::getId).reversed()))
+                .map(Lecture::getId)
+                .collect(Collectors.toList());
+
+        assertThat(readAll(lectures, "modifiedDate")).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void 평점이_바뀐_강의는_새_위치에서_읽힌다() {
+        List<Lecture> lectures = new ArrayList<>();
+        for (long id = 1; id <= LECTURES; id++) {
+            lectures.add(lecture(id, id / 10f, LocalDateTime.of(2022, 3, 1, 0, 0)));
+        }
+        LectureReadModel readModel = new LectureReadModel(new LectureCountCache());
+        readModel.rebuild(lectures);
+
+        Lecture changed = lectures.get(0);
+        ReflectionTestUtils.setField(changed, "lectureTotalAvg", 9f);
+        readModel.update(changed);
+
+        LectureListAndCountDto page = readModel.findPage(option("lectureTotalAvg", null));
+        assertThat(page.getLectureList().get(0).getId()).isEqualTo(changed.getId());
+        assertThat(page.getLectureList().get(0).getLectureTotalAvg()).isEqualTo(9f);
+        assertThat(page.getCount()).isEqualTo(LECTURES);
+    }
+
+    // 첫 페이지부터 nextCursor 를 따라 끝까지 읽는다
+    private static List<Long> readAll(List<Lecture> lectures, String orderOption) {
+        LectureReadModel readModel = new LectureReadModel(new LectureCountCache());
+        readModel.rebuild(lectures);
+        List<Long> result = new ArrayList<>();
+        String cursor = null;
+        do {
+            LectureListAndCountDto page = readModel.findPage(option(orderOption, cursor));
+            page.getLectureList().forEach(dto -> result.add(dto.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return result;
+    }
+
+    private static LectureFindOption option(String orderOption, String cursor) {
+        return LectureFindOption.builder()
+                .orderOption(Optional.of(orderOption))
+                .pageNumber(Optional.empty())
+                .majorType(Optional.empty())
+                .cursor(Optional.ofNullable(cursor))
+                .build();
+    }
+
+    private static Lecture lecture(long id, float lectureTotalAvg, LocalDateTime modifiedDate) {
+        Lecture lecture = Lecture.builder()
+                .lectureName("강의" + id).professor("교수" + id).majorType("컴퓨터SW").semesterList("2022-1")
+                .build();
+        ReflectionTestUtils.setField(lecture, "id", id);
+        ReflectionTestUtils.setField(lecture, "lectureTotalAvg", lectureTotalAvg);
+        ReflectionTestUtils.setField(lecture, "modifiedDate", modifiedDate);
+        return lecture;
+    }
+}
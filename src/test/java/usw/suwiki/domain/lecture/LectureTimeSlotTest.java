@@ -0,0 +1,78 @@
+package usw.suwiki.domain.lecture;
+
+import org.junit.jupiter.api.Test;
+import usw.suwiki.exception.AccountException;
+import usw.suwiki.exception.ErrorType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LectureTimeSlotTest {
+
+    @Test
+    void 한_요일_시간표() {
+        assertThat(LectureTimeSlot.parse("미래103(금1,2)")).containsExactly(mask("금1", "금2"));
+    }
+
+    @Test
+    void 여러_요일_시간표() {
+        assertThat(LectureTimeSlot.parse("미래103(월1,2 수3)")).containsExactly(mask("월1", "월2", "수3"));
+    }
+
+    @Test
+    void 여러_강의실_시간표() {
+        assertThat(LectureTimeSlot.parse("미래103(금1,2),미래B102(금3,4)"))
+                .containsExactly(mask("금1", "금2", "금3", "금4"));
+    }
+
+    @Test
+    void 주말_뒷교시는_high_에_들어간다() {
+        long[] slots = LectureTimeSlot.parse("체육관(일16)");
+        assertThat(slots[0]).isZero();
+        assertThat(slots).containsExactly(mask("일16"));
+    }
+
+    @Test
+    void 형식이_맞지_않는_부분은_건너뛴다() {
+        assertThat(LectureTimeSlot.parse("미래103(X1,2 금a,3 금17)")).containsExactly(mask("금3"));
+        assertThat(LectureTimeSlot.parse("미정")).containsExactly(0L, 0L);
+        assertThat(LectureTimeSlot.parse("null")).containsExactly(0L, 0L);
+        assertThat(LectureTimeSlot.parse(null)).containsExactly(0L, 0L);
+    }
+
+    @Test
+    void 검색_조건_파싱() {
+        assertThat(LectureTimeSlot.parseQuery("월1,2 화3")).containsExactly(mask("월1", "월2", "화3"));
+        assertThat(LectureTimeSlot.parseQuery("(월1)/(화2)")).containsExactly(mask("월1", "화2"));
+    }
+
+    @Test
+    void 잘못된_검색_조건은_INVALID_SLOT_OPTION() {
+        for (String slots : new String[]{"X1", "월0", "월17", "월a", "", " "}) {
+            assertThatThrownBy(() -> LectureTimeSlot.parseQuery(slots))
+                    .isInstanceOf(AccountException.class)
+                    .extracting("errorType").isEqualTo(ErrorType.INVALID_SLOT_OPTION);
+        }
+    }
+
+    @Test
+    void 포함과_회피() {
+        long[] lecture = LectureTimeSlot.parse("미래103(월1,2)");
+        assertThat(LectureTimeSlot.fits(lecture[0], lecture[1], mask("월1", "월2", "월3"))).isTrue();
+        assertThat(LectureTimeSlot.fits(lecture[0], lecture[1], mask("월1"))).isFalse();
+        assertThat(LectureTimeSlot.fits(0, 0, mask("월1"))).isFalse();
+        assertThat(LectureTimeSlot.avoids(lecture[0], lecture[1], mask("화1"))).isTrue();
+        assertThat(LectureTimeSlot.avoids(lecture[0], lecture[1], mask("월2"))).isFalse();
+    }
+
+    // "요일교시" 목록을 비트마스크로
+    private static long[] mask(String... slots) {
+        long[] mask = new long[2];
+        for (String slot : slots) {
+            int bit = LectureTimeSlot.DAYS.indexOf(slot.charAt(0)) * LectureTimeSlot.PERIODS_PER_DAY
+                    + Integer.parseInt(slot.substring(1)) - 1;
+            mask[bit >>> 6] |= 1L << (bit & 63);
+        }
+        return mask;
+    }
+}